@@ -44,6 +44,7 @@ public class ViewPagerActivity extends AppCompatActivity {
 //        TransitionConfig.setPrintDebug(true);
 
         adapter = OnPageChangeListenerAdapter.bindWithRotationYTransition(mViewPager);
+        adapter.setWarmUp(true);
 
         //debug
         adapter.addTransitionListener(new TraceTransitionListener());
@@ -71,7 +72,9 @@ public class ViewPagerActivity extends AppCompatActivity {
                 break;
             case R.id.depth:
                 //has to rebuild adapter since the drawing order needs to be reversed
+                adapter.setWarmUp(false);
                 adapter = OnPageChangeListenerAdapter.bindWithDepthTransition(mViewPager);
+                adapter.setWarmUp(true);
                 break;
             case R.id.rotate:
                 OnPageChangeListenerAdapter.bindWithRotate(adapter);
@@ -23,6 +23,9 @@ public abstract class AbstractTransition<T extends AbstractTransition, S extends
     Interpolator mInterpolator;
     View mTarget;
     boolean mUpdateStateAfterUpdateProgress;
+    boolean mHardwareLayer;
+    boolean mLazySetup;
+    boolean mLowPriority;
 
     public AbstractTransition(@Nullable String id) {
         this.mId = id;
@@ -56,6 +59,11 @@ public abstract class AbstractTransition<T extends AbstractTransition, S extends
         stopTransition();
     }
 
+    @Override
+    public void snapTo(float progress) {
+        setProgress(progress);
+    }
+
     @Override
     public T reverse() {
         String id = getId();
@@ -103,6 +111,40 @@ public abstract class AbstractTransition<T extends AbstractTransition, S extends
         return self();
     }
 
+    @Override
+    public T setHardwareLayer(boolean hardwareLayer) {
+        mHardwareLayer = hardwareLayer;
+        return self();
+    }
+
+    @Override
+    public T setLazySetup(boolean lazySetup) {
+        mLazySetup = lazySetup;
+        return self();
+    }
+
+    @Override
+    public T setLowPriority(boolean lowPriority) {
+        mLowPriority = lowPriority;
+        return self();
+    }
+
+    @Override
+    public boolean isLowPriority() {
+        return mLowPriority;
+    }
+
+    /**
+     * Updates the progress at a reduced cost while a {@link FrameBudgetGovernor} finds the frame budget exceeded
+     *
+     * @param progress
+     * @param degradeMode
+     * @return false if the mode is not supported, in which case the caller decides how to update the transition
+     */
+    protected boolean updateProgressDegraded(float progress, @FrameBudgetGovernor.DegradeMode int degradeMode) {
+        return false;
+    }
+
     /**
      * Invalidates the current transition, which may mean the currently running transition is stopped
      */
@@ -155,6 +197,10 @@ public abstract class AbstractTransition<T extends AbstractTransition, S extends
             }
         }
         mUpdateStateAfterUpdateProgress |= another.mUpdateStateAfterUpdateProgress;
+        mHardwareLayer |= another.mHardwareLayer;
+        //the merged transition may have been relying on its initial state being applied
+        mLazySetup &= another.mLazySetup;
+        mLowPriority &= another.mLowPriority;
         mSetupList.addAll(another.mSetupList);
         Collections.sort(mSetupList, new Comparator<S>() {
             @Override
@@ -4,7 +4,6 @@ import android.support.annotation.CheckResult;
 import android.support.annotation.FloatRange;
 import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
-import android.util.SparseArray;
 import android.view.View;
 import android.view.animation.Interpolator;
 
@@ -27,17 +26,17 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
 
     static final int SCALE_FACTOR = 10_000;
 
-    protected static final int ALPHA = 0;
-    protected static final int ROTATION = 1;
-    protected static final int ROTATION_X = 2;
-    protected static final int ROTATION_Y = 3;
-    protected static final int SCALE = 4;
-    protected static final int SCALE_X = 5;
-    protected static final int SCALE_Y = 6;
-    protected static final int TRANSLATION_X = 7;
-    protected static final int TRANSLATION_Y = 8;
-    protected static final int X = 9;
-    protected static final int Y = 10;
+    public static final int ALPHA = 0;
+    public static final int ROTATION = 1;
+    public static final int ROTATION_X = 2;
+    public static final int ROTATION_Y = 3;
+    public static final int SCALE = 4;
+    public static final int SCALE_X = 5;
+    public static final int SCALE_Y = 6;
+    public static final int TRANSLATION_X = 7;
+    public static final int TRANSLATION_Y = 8;
+    public static final int X = 9;
+    public static final int Y = 10;
     protected static final int VISIBILITY = 11;
     protected static final int TRANSLATION_X_AS_FRACTION_OF_WIDTH = 12;
     protected static final int TRANSLATION_Y_AS_FRACTION_OF_HEIGHT = 13;
@@ -74,8 +73,7 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
         throw new IllegalArgumentException();
     }
 
-    SparseArray<PropertyValuesHolder> mHolders = new SparseArray<>(4);
-    SparseArray<ShadowValuesHolder> mShadowHolders = new SparseArray<>(4);
+    Keyframes mKeyframes = new Keyframes();
     List<DelayedEvaluator<T>> mDelayed;
     float mStart = TransitionController.DEFAULT_START;
     float mEnd = TransitionController.DEFAULT_END;
@@ -83,6 +81,9 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
     boolean mReverse;
     Interpolator mInterpolator;
     int mDuration;
+    boolean mHardwareLayer;
+    boolean mLazySetup;
+    boolean mLowPriority;
     DelayedProcessor mDelayedProcessor;
     transient WeakReference<Object> mOwnerRef;
 
@@ -646,9 +647,7 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
      * @return self
      */
     public T transitFloat(int propertyId, float... vals) {
-        String property = getPropertyName(propertyId);
-        mHolders.put(propertyId, PropertyValuesHolder.ofFloat(property, vals));
-        mShadowHolders.put(propertyId, ShadowValuesHolder.ofFloat(property, vals));
+        mKeyframes.putFloat(propertyId, vals);
         return self();
     }
 
@@ -660,9 +659,7 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
      * @return self
      */
     public T transitInt(int propertyId, int... vals) {
-        String property = getPropertyName(propertyId);
-        mHolders.put(propertyId, PropertyValuesHolder.ofInt(property, vals));
-        mShadowHolders.put(propertyId, ShadowValuesHolder.ofInt(property, vals));
+        mKeyframes.putInt(propertyId, vals);
         return self();
     }
 
@@ -681,6 +678,39 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
         return self();
     }
 
+    /**
+     * See {@link Transition#setHardwareLayer(boolean)}
+     *
+     * @param hardwareLayer
+     * @return self
+     */
+    public T hardwareLayer(boolean hardwareLayer) {
+        mHardwareLayer = hardwareLayer;
+        return self();
+    }
+
+    /**
+     * See {@link Transition#setLazySetup(boolean)}
+     *
+     * @param lazySetup
+     * @return self
+     */
+    public T lazySetup(boolean lazySetup) {
+        mLazySetup = lazySetup;
+        return self();
+    }
+
+    /**
+     * See {@link Transition#setLowPriority(boolean)}
+     *
+     * @param lowPriority
+     * @return self
+     */
+    public T lowPriority(boolean lowPriority) {
+        mLowPriority = lowPriority;
+        return self();
+    }
+
     @CheckResult
     /**
      * Asks the subclass to create and set a ITransition
@@ -705,6 +735,15 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
         if (mReverse) {
             vt.reverse();
         }
+        if (mHardwareLayer) {
+            vt.setHardwareLayer(true);
+        }
+        if (mLazySetup) {
+            vt.setLazySetup(true);
+        }
+        if (mLowPriority) {
+            vt.setLowPriority(true);
+        }
         return vt;
     }
 
@@ -765,14 +804,7 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
         try {
             newCopy = (AbstractTransitionBuilder) super.clone();
             newCopy.mOwnerRef = null;
-            newCopy.mHolders = new SparseArray<>(mHolders.size());
-            for (int i = 0, size = mHolders.size(); i < size; i++) {
-                newCopy.mHolders.put(mHolders.keyAt(i), mHolders.valueAt(i).clone());
-            }
-            newCopy.mShadowHolders = new SparseArray<>(mShadowHolders.size());
-            for (int i = 0, size = mShadowHolders.size(); i < size; i++) {
-                newCopy.mShadowHolders.put(mShadowHolders.keyAt(i), mShadowHolders.valueAt(i).clone());
-            }
+            newCopy.mKeyframes = mKeyframes.clone();
             if (mDelayed != null) {
                 newCopy.mDelayed = new ArrayList<>(mDelayed.size());
                 newCopy.mDelayed.addAll(mDelayed);
@@ -815,13 +847,13 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
         return mDelayedProcessor;
     }
 
+    /**
+     * PropertyValuesHolders are created on demand, callers that do not use Animator should read the keyframes directly
+     *
+     * @return
+     */
     protected PropertyValuesHolder[] getValuesHolders() {
-        final int size = mHolders.size();
-        PropertyValuesHolder[] holders = new PropertyValuesHolder[size];
-        for (int i = 0; i < size; i++) {
-            holders[i] = mHolders.valueAt(i);
-        }
-        return holders;
+        return mKeyframes.createValuesHolders();
     }
 
     //a shared static DelayedEvaluator class to reduce object creation
@@ -1021,58 +1053,177 @@ public abstract class AbstractTransitionBuilder<T extends AbstractTransitionBuil
     }
 
     /**
-     * Holds values so the reversed version of PropertyValuesHolder can be created
+     * Stores the keyframes of all properties in flat float[]/int[] pools, indexed by property ID through offsets and lengths.
+     * <p>
+     * Cloned Keyframes share the pools until one of them is modified, and reversing only flips how the values are indexed.
      */
-    static class ShadowValuesHolder implements Cloneable {
-        String property;
-        int[] iVals;
-        float[] fVals;
-        boolean isFloat;
-
-        ShadowValuesHolder(@NonNull String property, float... vals) {
-            this.property = property;
-            fVals = vals;
-            isFloat = true;
+    static class Keyframes implements Cloneable {
+        int[] offsets = new int[TOTAL];
+        //0 if the property is not set
+        int[] lengths = new int[TOTAL];
+        float[] floatValues;
+        int[] intValues;
+        int floatCount;
+        int intCount;
+        //bit masks indexed by property ID
+        int intProperties;
+        int reversedProperties;
+        boolean shared;
+
+        Keyframes() {
+        }
+
+        void putFloat(int propertyId, @NonNull float[] vals) {
+            ensureWritable();
+            final int length = vals.length;
+            int offset;
+            if (lengths[propertyId] >= length && !isInt(propertyId)) {
+                //reuse the old slots when possible
+                offset = offsets[propertyId];
+            } else {
+                if (floatValues == null) {
+                    floatValues = new float[Math.max(8, length)];
+                } else if (floatCount + length > floatValues.length) {
+                    float[] newValues = new float[Math.max(floatValues.length * 2, floatCount + length)];
+                    System.arraycopy(floatValues, 0, newValues, 0, floatCount);
+                    floatValues = newValues;
+                }
+                offset = floatCount;
+                floatCount += length;
+            }
+            System.arraycopy(vals, 0, floatValues, offset, length);
+            offsets[propertyId] = offset;
+            lengths[propertyId] = length;
+            intProperties &= ~(1 << propertyId);
+            reversedProperties &= ~(1 << propertyId);
+        }
+
+        void putInt(int propertyId, @NonNull int[] vals) {
+            ensureWritable();
+            final int length = vals.length;
+            int offset;
+            if (lengths[propertyId] >= length && isInt(propertyId)) {
+                offset = offsets[propertyId];
+            } else {
+                if (intValues == null) {
+                    intValues = new int[Math.max(8, length)];
+                } else if (intCount + length > intValues.length) {
+                    int[] newValues = new int[Math.max(intValues.length * 2, intCount + length)];
+                    System.arraycopy(intValues, 0, newValues, 0, intCount);
+                    intValues = newValues;
+                }
+                offset = intCount;
+                intCount += length;
+            }
+            System.arraycopy(vals, 0, intValues, offset, length);
+            offsets[propertyId] = offset;
+            lengths[propertyId] = length;
+            intProperties |= 1 << propertyId;
+            reversedProperties &= ~(1 << propertyId);
+        }
+
+        /**
+         * Copies the pools and the track tables if they're shared with another Keyframes, i.e. copy-on-write
+         */
+        private void ensureWritable() {
+            if (!shared) {
+                return;
+            }
+            offsets = offsets.clone();
+            lengths = lengths.clone();
+            if (floatValues != null) {
+                float[] newValues = new float[floatValues.length];
+                System.arraycopy(floatValues, 0, newValues, 0, floatCount);
+                floatValues = newValues;
+            }
+            if (intValues != null) {
+                int[] newValues = new int[intValues.length];
+                System.arraycopy(intValues, 0, newValues, 0, intCount);
+                intValues = newValues;
+            }
+            shared = false;
         }
 
-        ShadowValuesHolder(@NonNull String property, int... vals) {
-            this.property = property;
-            iVals = vals;
+        boolean has(int propertyId) {
+            return lengths[propertyId] != 0;
         }
 
+        boolean isInt(int propertyId) {
+            return (intProperties & (1 << propertyId)) != 0;
+        }
 
-        static ShadowValuesHolder ofFloat(@NonNull String property, float... vals) {
-            return new ShadowValuesHolder(property, vals);
+        boolean isReversed(int propertyId) {
+            return (reversedProperties & (1 << propertyId)) != 0;
+        }
+
+        int size() {
+            int size = 0;
+            for (int i = 0; i < TOTAL; i++) {
+                if (lengths[i] != 0) {
+                    size++;
+                }
+            }
+            return size;
         }
 
-        static ShadowValuesHolder ofInt(@NonNull String property, int... vals) {
-            return new ShadowValuesHolder(property, vals);
+        /**
+         * Sets all properties to be evaluated from their last value to their first value
+         */
+        void reverseAll() {
+            reversedProperties = 0;
+            for (int i = 0; i < TOTAL; i++) {
+                if (lengths[i] != 0) {
+                    reversedProperties |= 1 << i;
+                }
+            }
         }
 
+        /**
+         * Materializes the keyframes as PropertyValuesHolders, only needed when an Animator is used
+         *
+         * @return
+         */
         @CheckResult
-        PropertyValuesHolder createReverse() {
-            final int max;
-            if (isFloat) {
-                float[] newfVals = new float[fVals.length];
-                max = fVals.length;
-                for (int i = 0; i < max; i++) {
-                    newfVals[i] = fVals[max - i - 1];
+        PropertyValuesHolder[] createValuesHolders() {
+            PropertyValuesHolder[] holders = new PropertyValuesHolder[size()];
+            int index = 0;
+            int offset;
+            int length;
+            boolean reversed;
+            for (int id = 0; id < TOTAL; id++) {
+                length = lengths[id];
+                if (length == 0) {
+                    continue;
                 }
-                return PropertyValuesHolder.ofFloat(property, newfVals);
-            } else {
-                int[] newiVals = new int[iVals.length];
-                max = iVals.length;
-                for (int i = 0; i < max; i++) {
-                    newiVals[i] = iVals[max - i - 1];
+                offset = offsets[id];
+                reversed = isReversed(id);
+                if (isInt(id)) {
+                    int[] vals = new int[length];
+                    for (int i = 0; i < length; i++) {
+                        vals[i] = intValues[offset + (reversed ? length - i - 1 : i)];
+                    }
+                    holders[index++] = PropertyValuesHolder.ofInt(getPropertyName(id), vals);
+                } else {
+                    float[] vals = new float[length];
+                    for (int i = 0; i < length; i++) {
+                        vals[i] = floatValues[offset + (reversed ? length - i - 1 : i)];
+                    }
+                    holders[index++] = PropertyValuesHolder.ofFloat(getPropertyName(id), vals);
                 }
-                return PropertyValuesHolder.ofInt(property, newiVals);
             }
+            return holders;
         }
 
+        /**
+         * The pools and the track tables are shared by both this object and the clone until either one is modified
+         */
         @CheckResult
-        protected ShadowValuesHolder clone() {
+        protected Keyframes clone() {
             try {
-                return (ShadowValuesHolder) super.clone();
+                Keyframes keyframes = (Keyframes) super.clone();
+                shared = true;
+                keyframes.shared = true;
+                return keyframes;
             } catch (CloneNotSupportedException e) {
                 e.printStackTrace();
             }
@@ -99,20 +99,42 @@ public class Cascade implements ViewTransitionBuilder.ViewGroupTransition {
 
     @Override
     public void transit(ViewTransitionBuilder builder, ViewTransitionBuilder.ViewGroupTransitionConfig config) {
-        float cascadeLength = cascadeEnd - mCascadeStart;
-        float minEffectLength = mTransitionEnd - cascadeEnd;
-        float fraction = cascadeLength / (config.total - 1);
-        float rangeStart = mCascadeStart + (mReverse ? config.total - 1 - config.getIndex() : config.getIndex()) * fraction;
+        float rangeStart = getRangeStart(config.getIndex(), config.total);
+        builder.range(interpolator.getInterpolation(rangeStart), interpolator.getInterpolation(getRangeEnd(rangeStart, config.total)));
+    }
+
+    /**
+     * Computes the range of every child at once
+     *
+     * @param total  number of children
+     * @param starts receives the start of each child's range
+     * @param ends   receives the end of each child's range
+     */
+    public void computeRanges(int total, @NonNull float[] starts, @NonNull float[] ends) {
+        float rangeStart;
+        for (int i = 0; i < total; i++) {
+            rangeStart = getRangeStart(i, total);
+            starts[i] = interpolator.getInterpolation(rangeStart);
+            ends[i] = interpolator.getInterpolation(getRangeEnd(rangeStart, total));
+        }
+    }
+
+    private float getRangeStart(int index, int total) {
+        float fraction = (cascadeEnd - mCascadeStart) / (total - 1);
+        return mCascadeStart + (mReverse ? total - 1 - index : index) * fraction;
+    }
+
+    private float getRangeEnd(float rangeStart, int total) {
         float rangeEnd;
         switch (type) {
             case STAGGERED:
-                rangeEnd = rangeStart + minEffectLength;
+                rangeEnd = rangeStart + mTransitionEnd - cascadeEnd;
                 break;
             case RUN_TO_THE_END:
                 rangeEnd = mTransitionEnd;
                 break;
             case SEQUENTIAL:
-                rangeEnd = rangeStart + fraction;
+                rangeEnd = rangeStart + (cascadeEnd - mCascadeStart) / (total - 1);
                 if (rangeEnd > mTransitionEnd) {
                     rangeEnd = mTransitionEnd;
                 }
@@ -120,7 +142,6 @@ public class Cascade implements ViewTransitionBuilder.ViewGroupTransition {
             default:
                 throw new IllegalArgumentException();
         }
-
-        builder.range(interpolator.getInterpolation(rangeStart), interpolator.getInterpolation(rangeEnd));
+        return rangeEnd;
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.kaichunlin.transition;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -16,6 +17,8 @@ public class DefaultTransitionManager implements TransitionManager {
     private ArrayList<TransitionListener> mTransitionListenerList = new ArrayList<>();
     private ArrayList<Transition> mTransitionList = new ArrayList<>();
     private Set<Transition> mBackupTransitionList = new HashSet<>();
+    private boolean mHardwareLayer;
+    private FrameBudgetGovernor mGovernor;
 
     @Override
     public void addTransition(@NonNull AbstractTransitionBuilder transitionBuilder) {
@@ -35,6 +38,9 @@ public class DefaultTransitionManager implements TransitionManager {
     }
 
     private void processAnimation(Transition transition) {
+        if (mHardwareLayer) {
+            transition.setHardwareLayer(true);
+        }
         //attempt to merge an animation
         boolean merged = false;
         //no optimization is taken if the TransitionOption is not an AbstractTransition subclass
@@ -89,6 +95,32 @@ public class DefaultTransitionManager implements TransitionManager {
         mTransitionList.clear();
     }
 
+    @Override
+    public void setHardwareLayer(boolean hardwareLayer) {
+        mHardwareLayer = hardwareLayer;
+        if (hardwareLayer) {
+            for (int i = 0, size = mTransitionList.size(); i < size; i++) {
+                mTransitionList.get(i).setHardwareLayer(true);
+            }
+        }
+    }
+
+    @Override
+    public boolean isHardwareLayer() {
+        return mHardwareLayer;
+    }
+
+    @Override
+    public void setFrameBudgetGovernor(@Nullable FrameBudgetGovernor governor) {
+        mGovernor = governor;
+    }
+
+    @Nullable
+    @Override
+    public FrameBudgetGovernor getFrameBudgetGovernor() {
+        return mGovernor;
+    }
+
     @Override
     public List<Transition> getTransitions() {
         return mTransitionList;
@@ -128,9 +160,30 @@ public class DefaultTransitionManager implements TransitionManager {
     @Override
     public void updateProgress(float value) {
         final int size = mTransitionList.size();
+        final FrameBudgetGovernor governor = mGovernor;
+        if (governor == null) {
+            for (int i = 0; i < size; i++) {
+                mTransitionList.get(i).updateProgress(value);
+            }
+            return;
+        }
+
+        governor.begin();
+        final boolean degraded = governor.isDegraded();
+        Transition transition;
         for (int i = 0; i < size; i++) {
-            mTransitionList.get(i).updateProgress(value);
+            transition = mTransitionList.get(i);
+            if (!degraded || !transition.isLowPriority()) {
+                transition.updateProgress(value);
+            } else if (governor.getDegradeMode() == FrameBudgetGovernor.DEGRADE_SKIP_FRAMES
+                    || !(transition instanceof AbstractTransition)
+                    || !((AbstractTransition) transition).updateProgressDegraded(value, governor.getDegradeMode())) {
+                if (!governor.isSkippedFrame()) {
+                    transition.updateProgress(value);
+                }
+            }
         }
+        governor.end();
     }
 
     /**
@@ -148,6 +201,13 @@ public class DefaultTransitionManager implements TransitionManager {
         }
     }
 
+    @Override
+    public void snapTo(float progress) {
+        for (int i = 0, size = mTransitionList.size(); i < size; i++) {
+            mTransitionList.get(i).snapTo(progress);
+        }
+    }
+
     @Override
     public void addTransitionListener(TransitionListener transitionListener) {
         if (!mTransitionListenerList.contains(transitionListener)) {
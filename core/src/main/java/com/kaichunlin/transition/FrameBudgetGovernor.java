@@ -0,0 +1,164 @@
+package com.kaichunlin.transition;
+
+import android.support.annotation.FloatRange;
+import android.support.annotation.IntDef;
+import android.support.annotation.Nullable;
+
+import com.kaichunlin.transition.animation.DefaultFrameClock;
+import com.kaichunlin.transition.animation.FrameClock;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Measures the time a {@link TransitionManager} spends in {@link TransitionManager#updateProgress(float)} per frame,
+ * adding up all the updates made between two ticks of its {@link FrameClock}. Once a frame exceeds the budget the
+ * transitions marked by {@link Transition#setLowPriority(boolean)} are degraded until the frames are cheap again, other
+ * transitions are always fully updated so that e.g. a drag keeps tracking the finger.
+ */
+public class FrameBudgetGovernor {
+    @IntDef({DEGRADE_SKIP_FRAMES, DEGRADE_SNAP, DEGRADE_SKIP_HANDLERS})
+    @Retention(RetentionPolicy.SOURCE)
+    public @interface DegradeMode {
+    }
+
+    /**
+     * Low priority transitions are only updated every other frame
+     */
+    public static final int DEGRADE_SKIP_FRAMES = 0;
+    /**
+     * Low priority transitions are snapped to the nearest end of their range, only applies to {@link ViewTransition}'s
+     * whose range is known, others are updated every other frame
+     */
+    public static final int DEGRADE_SNAP = 1;
+    /**
+     * {@link TransitionHandler}'s of low priority transitions are skipped, e.g. height changes that require a layout pass
+     */
+    public static final int DEGRADE_SKIP_HANDLERS = 2;
+
+    public static final float DEFAULT_BUDGET_MS = 8;
+    //number of frames under half the budget before leaving degraded mode, avoids flipping every frame
+    private static final int RECOVER_FRAMES = 10;
+
+    private long mBudgetNanos;
+    private @DegradeMode int mDegradeMode;
+    private boolean mDegraded;
+    private int mRecoverCount;
+    private final FrameClock.FrameCallback mTick = new FrameClock.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            endFrame();
+        }
+    };
+    private FrameClock mFrameClock;
+    //true while a tick is posted, no tick is posted once a frame passes without updates
+    private boolean mTicking;
+    private boolean mUpdated;
+    private long mFrameCount;
+    //time spent in updates since the last tick
+    private long mFrameNanos;
+    private long mStartNanos;
+
+    public FrameBudgetGovernor() {
+        this(DEFAULT_BUDGET_MS, DEGRADE_SKIP_FRAMES);
+    }
+
+    /**
+     * @param budgetMs    time allowed for the updates of a frame, in milliseconds
+     * @param degradeMode
+     */
+    public FrameBudgetGovernor(@FloatRange(from = 0) float budgetMs, @DegradeMode int degradeMode) {
+        setBudget(budgetMs);
+        mDegradeMode = degradeMode;
+    }
+
+    /**
+     * @param budgetMs time allowed for the updates of a frame, in milliseconds
+     */
+    public void setBudget(@FloatRange(from = 0) float budgetMs) {
+        mBudgetNanos = (long) (budgetMs * 1_000_000);
+    }
+
+    public float getBudget() {
+        return mBudgetNanos / 1_000_000f;
+    }
+
+    public void setDegradeMode(@DegradeMode int degradeMode) {
+        mDegradeMode = degradeMode;
+    }
+
+    @DegradeMode
+    public int getDegradeMode() {
+        return mDegradeMode;
+    }
+
+    /**
+     * @param frameClock the clock whose ticks separate the frames, null to use the default vsync driven clock
+     */
+    public void setFrameClock(@Nullable FrameClock frameClock) {
+        if (mTicking) {
+            getFrameClock().removeFrameCallback(mTick);
+            mTicking = false;
+        }
+        mFrameClock = frameClock;
+    }
+
+    public FrameClock getFrameClock() {
+        return mFrameClock == null ? DefaultFrameClock.getInstance() : mFrameClock;
+    }
+
+    /**
+     * @return true if low priority transitions are currently degraded
+     */
+    public boolean isDegraded() {
+        return mDegraded;
+    }
+
+    /**
+     * Marks the start of an update, which is counted toward the current frame
+     */
+    void begin() {
+        if (!mTicking) {
+            mTicking = true;
+            getFrameClock().postFrameCallback(mTick);
+        }
+        mStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Marks the end of an update started by {@link #begin()}
+     */
+    void end() {
+        mFrameNanos += System.nanoTime() - mStartNanos;
+        mUpdated = true;
+        if (mFrameNanos > mBudgetNanos) {
+            //degraded right away so the remaining updates of the frame are cheaper
+            mDegraded = true;
+            mRecoverCount = 0;
+        }
+    }
+
+    /**
+     * Closes the frame whose updates were counted since the last tick
+     */
+    private void endFrame() {
+        if (!mUpdated) {
+            mTicking = false;
+            return;
+        }
+        if (mDegraded && mFrameNanos < mBudgetNanos / 2 && ++mRecoverCount >= RECOVER_FRAMES) {
+            mDegraded = false;
+        }
+        mUpdated = false;
+        mFrameNanos = 0;
+        mFrameCount++;
+        getFrameClock().postFrameCallback(mTick);
+    }
+
+    /**
+     * @return true if low priority transitions should skip the updates of the current frame, true every other frame
+     */
+    boolean isSkippedFrame() {
+        return (mFrameCount & 1) == 1;
+    }
+}
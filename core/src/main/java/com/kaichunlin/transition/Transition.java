@@ -33,6 +33,16 @@ public interface Transition<T extends AbstractTransition.Setup> extends Transiti
     @UiThread
     void setProgress(float progress);
 
+    /**
+     * Applies the state at the given progress in a single pass, e.g. 1 for the end state, the transition does not need
+     * to be started and is not left started. A running transition, e.g. during a drag or an animation, is only updated
+     * to the progress and left running.
+     *
+     * @param progress
+     */
+    @UiThread
+    void snapTo(float progress);
+
     /**
      * Reverses the transition
      *
@@ -74,8 +84,37 @@ public interface Transition<T extends AbstractTransition.Setup> extends Transiti
 
     /**
      *
-     * @param updateStateAfterUpdateProgress whether or not to update a controller's enable state after each {@link #updateProgress(float)} call
+     * @param updateStateAfterUpdateProgress whether or not to only update the controllers on the same side of center as the progress, required by ViewPager
      * @return itself
      */
     Transition setUpdateStateAfterUpdateProgress(boolean updateStateAfterUpdateProgress);
+
+    /**
+     * Switches the target to a hardware layer between {@link #startTransition()} and {@link #stopTransition()}, only
+     * applies when the transition changes properties that benefit from a layer, e.g. alpha, rotation, scale and translation
+     *
+     * @param hardwareLayer
+     * @return itself
+     */
+    Transition setHardwareLayer(boolean hardwareLayer);
+
+    /**
+     * Delays creating the transition's controllers until the progress first reaches the transition's range, the target
+     * is assumed to already be in the transition's start state until then
+     *
+     * @param lazySetup
+     * @return itself
+     */
+    Transition setLazySetup(boolean lazySetup);
+
+    /**
+     * Marks the transition as one that may be degraded when a {@link FrameBudgetGovernor} finds the frame budget
+     * exceeded
+     *
+     * @param lowPriority
+     * @return itself
+     */
+    Transition setLowPriority(boolean lowPriority);
+
+    boolean isLowPriority();
 }
@@ -1,5 +1,9 @@
 package com.kaichunlin.transition;
 
+import android.support.annotation.IntRange;
+
+import com.kaichunlin.transition.util.InterpolatorLookupTable;
+
 /**
  * Configuration that affects the whole framework
  * <p>
@@ -8,6 +12,24 @@ package com.kaichunlin.transition;
 public class TransitionConfig {
     static boolean _debug;
     static boolean _printDebug;
+    static final float[] _writeThresholds = new float[AbstractTransitionBuilder.TOTAL];
+    static boolean _interpolatorLookupTable;
+    static int _interpolatorLookupTableResolution = InterpolatorLookupTable.DEFAULT_RESOLUTION;
+
+    static {
+        //half of an 8-bit alpha step
+        _writeThresholds[AbstractTransitionBuilder.ALPHA] = 0.5f / 255;
+        _writeThresholds[AbstractTransitionBuilder.ROTATION] = 0.05f;
+        _writeThresholds[AbstractTransitionBuilder.ROTATION_X] = 0.05f;
+        _writeThresholds[AbstractTransitionBuilder.ROTATION_Y] = 0.05f;
+        _writeThresholds[AbstractTransitionBuilder.SCALE_X] = 0.001f;
+        _writeThresholds[AbstractTransitionBuilder.SCALE_Y] = 0.001f;
+        //half a pixel
+        _writeThresholds[AbstractTransitionBuilder.TRANSLATION_X] = 0.5f;
+        _writeThresholds[AbstractTransitionBuilder.TRANSLATION_Y] = 0.5f;
+        _writeThresholds[AbstractTransitionBuilder.X] = 0.5f;
+        _writeThresholds[AbstractTransitionBuilder.Y] = 0.5f;
+    }
 
     /**
      * @param debug set debugging
@@ -36,4 +58,49 @@ public class TransitionConfig {
     public static boolean isPrintDebug() {
         return _printDebug;
     }
-}
\ No newline at end of file
+
+    /**
+     * Sets how much a property has to change before the new value is written to the View, smaller changes are skipped
+     * to avoid redundant invalidation, the exact start/end values are always written
+     *
+     * @param propertyId one of the property IDs defined in {@link AbstractTransitionBuilder}, e.g. {@link AbstractTransitionBuilder#ALPHA}
+     * @param threshold  0 to write every change
+     */
+    public static void setWriteThreshold(int propertyId, float threshold) {
+        _writeThresholds[propertyId] = threshold;
+    }
+
+    /**
+     * @param propertyId one of the property IDs defined in {@link AbstractTransitionBuilder}
+     * @return the minimum change required for a property to be written to the View
+     */
+    public static float getWriteThreshold(int propertyId) {
+        return _writeThresholds[propertyId];
+    }
+
+    /**
+     * @param lookupTable bake Interpolators into an {@link InterpolatorLookupTable} when a transition starts, trading
+     *                    a small loss of precision for cheaper evaluation on every frame
+     */
+    public static void setInterpolatorLookupTable(boolean lookupTable) {
+        _interpolatorLookupTable = lookupTable;
+    }
+
+    /**
+     * @return are Interpolators baked into lookup tables
+     */
+    public static boolean isInterpolatorLookupTable() {
+        return _interpolatorLookupTable;
+    }
+
+    /**
+     * @param resolution number of intervals of the lookup tables, defaults to {@link InterpolatorLookupTable#DEFAULT_RESOLUTION}
+     */
+    public static void setInterpolatorLookupTableResolution(@IntRange(from = 1) int resolution) {
+        _interpolatorLookupTableResolution = resolution;
+    }
+
+    public static int getInterpolatorLookupTableResolution() {
+        return _interpolatorLookupTableResolution;
+    }
+}
@@ -1,5 +1,7 @@
 package com.kaichunlin.transition;
 
+import android.support.annotation.Nullable;
+
 import java.util.List;
 
 /**
@@ -40,6 +42,33 @@ public interface TransitionManager extends TransitionOperation {
      */
     void removeAllTransitions();
 
+    /**
+     * When enabled, {@link Transition#setHardwareLayer(boolean)} is turned on for all current and future transitions,
+     * disabling it leaves transitions that opted in on their own unchanged
+     *
+     * @param hardwareLayer
+     */
+    void setHardwareLayer(boolean hardwareLayer);
+
+    boolean isHardwareLayer();
+
+    /**
+     * @param governor degrades low priority transitions when updating the progress exceeds the frame budget, null to
+     *                 always fully update all transitions
+     */
+    void setFrameBudgetGovernor(@Nullable FrameBudgetGovernor governor);
+
+    @Nullable
+    FrameBudgetGovernor getFrameBudgetGovernor();
+
+    /**
+     * Applies the state at the given progress to all transitions in a single pass, see {@link Transition#snapTo(float)},
+     * no {@link TransitionListener} is notified
+     *
+     * @param progress
+     */
+    void snapTo(float progress);
+
     void addTransitionListener(TransitionListener transitionListener);
 
     void removeTransitionListener(TransitionListener transitionListener);
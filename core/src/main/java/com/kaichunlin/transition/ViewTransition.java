@@ -3,9 +3,11 @@ package com.kaichunlin.transition;
 import android.support.annotation.CheckResult;
 import android.support.annotation.Nullable;
 import android.support.annotation.UiThread;
+import android.view.View;
 
 import com.kaichunlin.transition.internal.TransitionController;
 import com.kaichunlin.transition.internal.TransitionControllerManager;
+import com.kaichunlin.transition.util.HardwareLayerHelper;
 import com.kaichunlin.transition.util.TransitionStateLogger;
 
 /**
@@ -16,6 +18,15 @@ import com.kaichunlin.transition.util.TransitionStateLogger;
 @UiThread
 public class ViewTransition extends AbstractTransition<ViewTransition, ViewTransition.Setup> {
     private TransitionControllerManager transitionControllerManager;
+    private boolean mHardwareLayerFriendly;
+    private View mLayerTarget;
+    //the range the controllers cover, only known if all Setups are AbstractTransitionBuilders
+    private boolean mRangeKnown;
+    private float mRangeLow;
+    private float mRangeHigh;
+    //lazy setup: the last progress received before the controllers are created
+    private boolean mPendingSetup;
+    private float mLazyLastProgress;
 
     public ViewTransition() {
         this(null, null);
@@ -45,6 +56,56 @@ public class ViewTransition extends AbstractTransition<ViewTransition, ViewTrans
 
     @Override
     public boolean startTransition() {
+        mRangeKnown = computeRange();
+        if (transitionControllerManager == null && mLazySetup && mRangeKnown) {
+            //the controllers are created once the progress reaches the range, see updateProgress()
+            mPendingSetup = true;
+            mLazyLastProgress = Float.NaN;
+            return true;
+        }
+        startControllers();
+        return true;
+    }
+
+    /**
+     * @return false if the range can't be known without running the Setups
+     */
+    private boolean computeRange() {
+        float low = Float.POSITIVE_INFINITY;
+        float high = Float.NEGATIVE_INFINITY;
+        Setup setup;
+        AbstractTransitionBuilder builder;
+        for (int i = 0, size = mSetupList.size(); i < size; i++) {
+            setup = mSetupList.get(i);
+            if (!(setup instanceof AbstractTransitionBuilder)) {
+                return false;
+            }
+            builder = (AbstractTransitionBuilder) setup;
+            low = Math.min(low, Math.min(builder.mStart, builder.mEnd));
+            high = Math.max(high, Math.max(builder.mStart, builder.mEnd));
+        }
+        mRangeLow = low;
+        mRangeHigh = high;
+        return true;
+    }
+
+    private void startControllers() {
+        buildControllers();
+        transitionControllerManager.start();
+        if (mHardwareLayer && mHardwareLayerFriendly && mLayerTarget == null && mTarget != null && HardwareLayerHelper.acquire(mTarget)) {
+            mLayerTarget = mTarget;
+        }
+    }
+
+    /**
+     * Runs the Setups and caches the controllers without starting them, also when {@link #setLazySetup(boolean)} is set,
+     * so the next {@link #startTransition()} only refreshes their state
+     */
+    public void prepare() {
+        buildControllers();
+    }
+
+    private void buildControllers() {
         //caches result
         if (transitionControllerManager == null) {
             transitionControllerManager = new TransitionControllerManager(getId());
@@ -58,27 +119,79 @@ public class ViewTransition extends AbstractTransition<ViewTransition, ViewTrans
             transitionControllerManager.setUpdateStateAfterUpdateProgress(mUpdateStateAfterUpdateProgress);
 
             final int size = mSetupList.size();
+            mHardwareLayerFriendly = size != 0;
+            Setup setup;
             for (int i = 0; i < size; i++) {
-                mSetupList.get(i).setupAnimation(transitionControllerManager);
+                setup = mSetupList.get(i);
+                setup.setupAnimation(transitionControllerManager);
+                //checked after setupAnimation() since delayed evaluations may add a TransitionHandler, e.g. for height
+                mHardwareLayerFriendly &= setup instanceof ViewTransitionBuilder && ((ViewTransitionBuilder) setup).isHardwareLayerFriendly();
             }
+            transitionControllerManager.fuseControllers();
             if (mReverse) {
                 transitionControllerManager.reverse();
             }
         }
-        transitionControllerManager.start();
-        return true;
+    }
+
+    @Override
+    public void snapTo(float progress) {
+        if (mPendingSetup) {
+            //started but lazily set up, the controllers are started now so the transition stays running
+            mPendingSetup = false;
+            startControllers();
+        }
+        //no layer is acquired since nothing is animated
+        buildControllers();
+        transitionControllerManager.snap(progress);
     }
 
     @Override
     public void updateProgress(float progress) {
+        if (mPendingSetup) {
+            //also catches a progress jumping over the whole range, so the end state is still applied
+            final float last = mLazyLastProgress;
+            final boolean reached = progress >= mRangeLow && progress <= mRangeHigh
+                    || !Float.isNaN(last) && Math.min(last, progress) <= mRangeHigh && Math.max(last, progress) >= mRangeLow;
+            if (!reached) {
+                mLazyLastProgress = progress;
+                return;
+            }
+            mPendingSetup = false;
+            startControllers();
+        }
         transitionControllerManager.updateProgress(progress);
     }
 
+    @Override
+    protected boolean updateProgressDegraded(float progress, @FrameBudgetGovernor.DegradeMode int degradeMode) {
+        if (mPendingSetup || transitionControllerManager == null) {
+            return false;
+        }
+        switch (degradeMode) {
+            case FrameBudgetGovernor.DEGRADE_SNAP:
+                if (!mRangeKnown) {
+                    return false;
+                }
+                transitionControllerManager.updateProgress(progress < (mRangeLow + mRangeHigh) / 2 ? mRangeLow : mRangeHigh);
+                return true;
+            case FrameBudgetGovernor.DEGRADE_SKIP_HANDLERS:
+                transitionControllerManager.updateProgress(progress, true);
+                return true;
+        }
+        return false;
+    }
+
     @Override
     public void stopTransition() {
+        mPendingSetup = false;
         if (transitionControllerManager != null) {
             transitionControllerManager.end();
         }
+        if (mLayerTarget != null) {
+            HardwareLayerHelper.release(mLayerTarget);
+            mLayerTarget = null;
+        }
     }
 
     @CheckResult
@@ -87,6 +200,8 @@ public class ViewTransition extends AbstractTransition<ViewTransition, ViewTrans
         ViewTransition newCopy = (ViewTransition) super.clone();
         //set to null for now, equivalent to calling invalidate()
         newCopy.transitionControllerManager = null;
+        newCopy.mLayerTarget = null;
+        newCopy.mPendingSetup = false;
         return newCopy;
     }
 
@@ -7,6 +7,7 @@ import android.support.annotation.CheckResult;
 import android.support.annotation.ColorInt;
 import android.support.annotation.ColorRes;
 import android.support.annotation.FloatRange;
+import android.support.annotation.IntDef;
 import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
@@ -14,8 +15,10 @@ import android.util.Log;
 import android.view.View;
 import android.view.ViewGroup;
 
+import com.kaichunlin.transition.internal.CascadeTransitionController;
 import com.kaichunlin.transition.internal.CustomTransitionController;
 import com.kaichunlin.transition.internal.DefaultTransitionController;
+import com.kaichunlin.transition.internal.PropertyTrackController;
 import com.kaichunlin.transition.internal.TransitionController;
 import com.kaichunlin.transition.internal.TransitionControllerManager;
 import com.nineoldandroids.animation.Animator;
@@ -25,6 +28,8 @@ import com.nineoldandroids.animation.ArgbEvaluator;
 import com.nineoldandroids.animation.ObjectAnimator;
 import com.nineoldandroids.view.ViewHelper;
 
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -34,6 +39,14 @@ import java.util.List;
  * Created by Kai-Chun Lin on 2015/4/23.
  */
 public class ViewTransitionBuilder extends AbstractTransitionBuilder<ViewTransitionBuilder, ViewTransition> implements ViewTransition.Setup {
+    @IntDef({CONTROLLER_PROPERTY_TRACK, CONTROLLER_ANIMATOR})
+    @Retention(RetentionPolicy.SOURCE)
+    public @interface TransitionControllerType {
+    }
+
+    public static final int CONTROLLER_PROPERTY_TRACK = 0;
+    public static final int CONTROLLER_ANIMATOR = 1;
+
     private static final String TAG = "ViewTransitionBuilder";
     protected static final int HEIGHT = 0;
     protected static final int TRANSLATION_X_AS_FRACTION_OF_WIDTH_WITH_VIEW = 1;
@@ -65,6 +78,8 @@ public class ViewTransitionBuilder extends AbstractTransitionBuilder<ViewTransit
     private CustomTransitionController mCustomTransitionController;
     private List<ViewTransition.Setup> mSetupList = new ArrayList<>();
     private View mView;
+    private @TransitionControllerType int mTransitionControllerType = CONTROLLER_PROPERTY_TRACK;
+    private Cascade mCascade;
 
     private ViewTransitionBuilder() {
     }
@@ -92,6 +107,26 @@ public class ViewTransitionBuilder extends AbstractTransitionBuilder<ViewTransit
         return mView;
     }
 
+    /**
+     * The {@link TransitionController} used to apply the values set by alpha(), rotation(), scale(), translation() and so on,
+     * can be either {@link #CONTROLLER_PROPERTY_TRACK} or {@link #CONTROLLER_ANIMATOR}.
+     * <p>
+     * {@link #CONTROLLER_PROPERTY_TRACK} is the default, it writes the values directly to the target View and avoids
+     * the per-frame overhead of seeking an ObjectAnimator. {@link #CONTROLLER_ANIMATOR} uses NineOldAndroids' ObjectAnimator.
+     *
+     * @param transitionControllerType
+     * @return
+     */
+    public ViewTransitionBuilder transitionControllerType(@TransitionControllerType int transitionControllerType) {
+        mTransitionControllerType = transitionControllerType;
+        return self();
+    }
+
+    @TransitionControllerType
+    public int getTransitionControllerType() {
+        return mTransitionControllerType;
+    }
+
     /**
      * Adds a custom {@link TransitionHandler}, the builder must be cloned if this method  is called.
      *
@@ -337,6 +372,28 @@ public class ViewTransitionBuilder extends AbstractTransitionBuilder<ViewTransit
         return self();
     }
 
+    /**
+     * Applies the transition to every child of the target ViewGroup instead of the target itself, each child's range is
+     * computed by the {@link Cascade}.
+     * <p>
+     * Unlike {@link #transitViewGroup(ViewGroupTransition, Cascade)}, all children are handled by a single
+     * {@link CascadeTransitionController} that keeps their state in flat arrays, which scales much better for ViewGroups
+     * with many children. Only alpha(), rotation(), scale(), translation(), x() and y() are applied to the children,
+     * other properties set through transitFloat() or transitInt() are ignored.
+     * <p>
+     * Everything else still applies to the target ViewGroup itself: {@link TransitionHandler}'s such as height() and
+     * backgroundColor(), {@link ViewTransition.Setup}'s added by {@link #addSetup(ViewTransition.Setup)}, and delayed
+     * values such as visibility or translation as a fraction of the width/height, which are computed from the ViewGroup's
+     * size. Use {@link #transitViewGroup(ViewGroupTransition, Cascade)} to apply those to each child.
+     *
+     * @param cascade
+     * @return
+     */
+    public ViewTransitionBuilder cascade(@NonNull Cascade cascade) {
+        mCascade = cascade;
+        return self();
+    }
+
     @CheckResult
     @Override
     public ViewTransitionBuilder clone() {
@@ -349,10 +406,7 @@ public class ViewTransitionBuilder extends AbstractTransitionBuilder<ViewTransit
     @Override
     public ViewTransitionBuilder reverse() {
         // super.reverse();
-        mHolders.clear();
-        for (int i = 0, size = mShadowHolders.size(); i < size; i++) {
-            mHolders.put(mShadowHolders.keyAt(i), mShadowHolders.valueAt(i).createReverse());
-        }
+        mKeyframes.reverseAll();
         float oldStart = mStart;
         mStart = mEnd;
         mEnd = oldStart;
@@ -538,6 +592,20 @@ public class ViewTransitionBuilder extends AbstractTransitionBuilder<ViewTransit
             transitionControllerManager.addTransitionController(mCustomTransitionController.clone());
         }
 
+        if (mCascade != null) {
+            if (isCascadeSupported()) {
+                transitionControllerManager.addTransitionController(createCascadeTransitionController());
+            }
+            return;
+        }
+
+        if (mTransitionControllerType == CONTROLLER_PROPERTY_TRACK && isPropertyTrackSupported()) {
+            if (mKeyframes.size() != 0) {
+                transitionControllerManager.addTransitionController(createPropertyTrackController()).setRange(mStart, mEnd);
+            }
+            return;
+        }
+
         ObjectAnimator anim = new ObjectAnimator();
         anim.setTarget(mView);
         anim.setValues(getValuesHolders());
@@ -547,6 +615,87 @@ public class ViewTransitionBuilder extends AbstractTransitionBuilder<ViewTransit
         transitionControllerManager.addAnimatorSetAsTransition(mView, animatorSet).setRange(mStart, mEnd);
     }
 
+    /**
+     * @return true if the builder only changes properties that are applied to a View's layer as a whole, false if
+     * the content or layout changes, e.g. height or background color, which would force the layer to be redrawn every frame
+     */
+    boolean isHardwareLayerFriendly() {
+        return mKeyframes.size() != 0 && mCustomTransitionController == null && mSetupList.isEmpty() && mCascade == null;
+    }
+
+    private boolean isPropertyTrackSupported() {
+        for (int i = 0; i < TOTAL; i++) {
+            if (mKeyframes.has(i) && !PropertyTrackController.isSupported(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if at least one of the properties can be applied to the children by {@link CascadeTransitionController}
+     */
+    private boolean isCascadeSupported() {
+        boolean supported = false;
+        for (int i = 0; i < TOTAL; i++) {
+            if (!mKeyframes.has(i)) {
+                continue;
+            }
+            if (PropertyTrackController.isSupported(i)) {
+                supported = true;
+            } else {
+                Log.w(TAG, "cascade() ignores unsupported property: " + i);
+            }
+        }
+        return supported;
+    }
+
+    private PropertyTrackController createPropertyTrackController() {
+        PropertyTrackController controller = new PropertyTrackController(mView);
+        final Keyframes keyframes = mKeyframes;
+        for (int i = 0; i < TOTAL; i++) {
+            if (!keyframes.has(i)) {
+                continue;
+            }
+            if (keyframes.isInt(i)) {
+                controller.addIntTrack(i, keyframes.intValues, keyframes.offsets[i], keyframes.lengths[i], keyframes.isReversed(i));
+            } else {
+                controller.addFloatTrack(i, keyframes.floatValues, keyframes.offsets[i], keyframes.lengths[i], keyframes.isReversed(i));
+            }
+        }
+        return controller;
+    }
+
+    private CascadeTransitionController createCascadeTransitionController() {
+        final ViewGroup vg = (ViewGroup) mView;
+        final int total = vg.getChildCount();
+        final View[] children = new View[total];
+        final float[] starts = new float[total];
+        final float[] ends = new float[total];
+        for (int i = 0; i < total; i++) {
+            children[i] = vg.getChildAt(i);
+        }
+        mCascade.computeRanges(total, starts, ends);
+
+        CascadeTransitionController controller = new CascadeTransitionController(children, starts, ends);
+        final Keyframes keyframes = mKeyframes;
+        for (int i = 0; i < TOTAL; i++) {
+            if (!keyframes.has(i) || !PropertyTrackController.isSupported(i)) {
+                continue;
+            }
+            if (keyframes.isInt(i)) {
+                controller.addIntTrack(i, keyframes.intValues, keyframes.offsets[i], keyframes.lengths[i], keyframes.isReversed(i));
+            } else {
+                controller.addFloatTrack(i, keyframes.floatValues, keyframes.offsets[i], keyframes.lengths[i], keyframes.isReversed(i));
+            }
+        }
+        //same as reverse() on a regular builder, where both the values and the range are flipped
+        if (mStart > mEnd) {
+            controller.reverse();
+        }
+        return controller;
+    }
+
     protected ViewTransitionDelayedEvaluation getViewDelayedProcessor() {
         if (mViewDelayedProcessor == null) {
             mViewDelayedProcessor = new ViewTransitionDelayedEvaluation();
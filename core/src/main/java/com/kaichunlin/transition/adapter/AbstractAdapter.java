@@ -1,9 +1,13 @@
 package com.kaichunlin.transition.adapter;
 
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.ViewTreeObserver;
 
 import com.kaichunlin.transition.AbstractTransitionBuilder;
 import com.kaichunlin.transition.DefaultTransitionManager;
+import com.kaichunlin.transition.FrameBudgetGovernor;
 import com.kaichunlin.transition.Transition;
 import com.kaichunlin.transition.TransitionListener;
 import com.kaichunlin.transition.TransitionManager;
@@ -18,6 +22,21 @@ import java.util.List;
 public abstract class AbstractAdapter implements TransitionAdapter {
     private TransitionManager mTransitionManager = new DefaultTransitionManager();
     private AdapterState mAdapterState;
+    private ProgressPipeline mProgressPipeline;
+    //last progress reported by the widget and last one passed to the transitions, NaN after a start or stop
+    private float mInputProgress = Float.NaN;
+    private float mAppliedProgress = Float.NaN;
+    private boolean mCoalesceProgress;
+    private boolean mProgressPending;
+    private float mPendingProgress;
+    private View mPendingView;
+    private final ViewTreeObserver.OnPreDrawListener mPendingProgressListener = new ViewTreeObserver.OnPreDrawListener() {
+        @Override
+        public boolean onPreDraw() {
+            applyPendingProgress();
+            return true;
+        }
+    };
 
     public AbstractAdapter() {
         mAdapterState = new AdapterState();
@@ -35,6 +54,118 @@ public abstract class AbstractAdapter implements TransitionAdapter {
         return mTransitionManager;
     }
 
+    /**
+     * Sets the filters the progress reported by the widget goes through before being passed to the transitions, with
+     * a pipeline set updates that leave the progress unchanged are skipped
+     *
+     * @param progressPipeline null to pass the progress unchanged
+     */
+    public void setProgressPipeline(@Nullable ProgressPipeline progressPipeline) {
+        mProgressPipeline = progressPipeline;
+        resetProgressPipeline();
+    }
+
+    @Nullable
+    public ProgressPipeline getProgressPipeline() {
+        return mProgressPipeline;
+    }
+
+    /**
+     * When enabled, only the latest progress reported by the widget is kept and applied once per frame right before
+     * drawing, instead of evaluating all transitions every time the widget reports a change. Only adapters that report
+     * the progress of a View, e.g. DrawerListenerAdapter and SlidingUpPanelLayoutAdapter, can coalesce, it has no
+     * effect on ObservableScrollViewCallbacksAdapter and OnPageChangeListenerAdapter.
+     *
+     * @param coalesceProgress
+     */
+    public void setCoalesceProgress(boolean coalesceProgress) {
+        mCoalesceProgress = coalesceProgress;
+        if (!coalesceProgress) {
+            applyPendingProgress();
+        }
+    }
+
+    public boolean isCoalesceProgress() {
+        return mCoalesceProgress;
+    }
+
+    /**
+     * Passes the progress reported by the widget to the transitions through the {@link ProgressPipeline}, see also
+     * {@link #setCoalesceProgress(boolean)}
+     *
+     * @param view     the View being moved, its next draw applies a coalesced progress, null to apply it immediately
+     * @param progress
+     */
+    protected void deliverProgress(@Nullable View view, float progress) {
+        mInputProgress = progress;
+        if (mProgressPipeline != null) {
+            progress = mProgressPipeline.process(progress);
+        }
+        if (!mCoalesceProgress || view == null) {
+            cancelPendingProgress();
+            applyProgress(progress);
+            return;
+        }
+        mPendingProgress = progress;
+        if (!mProgressPending) {
+            mProgressPending = true;
+            mPendingView = view;
+            view.getViewTreeObserver().addOnPreDrawListener(mPendingProgressListener);
+        }
+    }
+
+    /**
+     * Applies the last progress reported by the widget immediately, should be called before the transition is
+     * stopped: the coalesced progress is not left pending, and filters lagging behind or projecting ahead of the
+     * widget are reset so the transitions end where the widget did
+     */
+    protected void flushProgress() {
+        if (mProgressPipeline == null || Float.isNaN(mInputProgress)) {
+            applyPendingProgress();
+            return;
+        }
+        cancelPendingProgress();
+        mProgressPipeline.reset();
+        applyProgress(mProgressPipeline.process(mInputProgress));
+    }
+
+    /**
+     * Drops the state kept by the {@link ProgressPipeline}, called when the transition is started or stopped
+     */
+    protected void resetProgressPipeline() {
+        mInputProgress = Float.NaN;
+        mAppliedProgress = Float.NaN;
+        if (mProgressPipeline != null) {
+            mProgressPipeline.reset();
+        }
+    }
+
+    private void applyPendingProgress() {
+        if (!mProgressPending) {
+            return;
+        }
+        cancelPendingProgress();
+        applyProgress(mPendingProgress);
+    }
+
+    private void cancelPendingProgress() {
+        if (!mProgressPending) {
+            return;
+        }
+        mProgressPending = false;
+        //the listener is moved to the window's observer once the View is attached, which is the View's current one
+        mPendingView.getViewTreeObserver().removeOnPreDrawListener(mPendingProgressListener);
+        mPendingView = null;
+    }
+
+    private void applyProgress(float progress) {
+        if (mProgressPipeline != null && progress == mAppliedProgress) {
+            return;
+        }
+        mAppliedProgress = progress;
+        mTransitionManager.updateProgress(progress);
+    }
+
     @Override
     public AdapterState getAdapterState() {
         return mAdapterState;
@@ -66,6 +197,32 @@ public abstract class AbstractAdapter implements TransitionAdapter {
         mTransitionManager.removeAllTransitions();
     }
 
+    @Override
+    public void setHardwareLayer(boolean hardwareLayer) {
+        mTransitionManager.setHardwareLayer(hardwareLayer);
+    }
+
+    @Override
+    public boolean isHardwareLayer() {
+        return mTransitionManager.isHardwareLayer();
+    }
+
+    @Override
+    public void setFrameBudgetGovernor(@Nullable FrameBudgetGovernor governor) {
+        mTransitionManager.setFrameBudgetGovernor(governor);
+    }
+
+    @Nullable
+    @Override
+    public FrameBudgetGovernor getFrameBudgetGovernor() {
+        return mTransitionManager.getFrameBudgetGovernor();
+    }
+
+    @Override
+    public void snapTo(float progress) {
+        mTransitionManager.snapTo(progress);
+    }
+
     @Override
     public List<Transition> getTransitions() {
         return mTransitionManager.getTransitions();
@@ -82,6 +239,7 @@ public abstract class AbstractAdapter implements TransitionAdapter {
             return false;
         }
 
+        resetProgressPipeline();
         mTransitionManager.startTransition(progress);
         mAdapterState.setTransiting(true);
         return true;
@@ -98,6 +256,8 @@ public abstract class AbstractAdapter implements TransitionAdapter {
             return;
         }
 
+        applyPendingProgress();
+        resetProgressPipeline();
         mTransitionManager.stopTransition();
         mAdapterState.setTransiting(false);
     }
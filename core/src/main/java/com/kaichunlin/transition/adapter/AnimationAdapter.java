@@ -1,5 +1,6 @@
 package com.kaichunlin.transition.adapter;
 
+import android.support.annotation.FloatRange;
 import android.support.annotation.IntRange;
 import android.support.annotation.Nullable;
 
@@ -134,6 +135,16 @@ public class AnimationAdapter extends AbstractAdapter implements Animation, Tran
         mAnimation.resumeAnimation();
     }
 
+    @Override
+    public void seekAnimation(@FloatRange(from = 0.0, to = 1.0) float fraction) {
+        mAnimation.seekAnimation(fraction);
+    }
+
+    @Override
+    public void retargetAnimation(boolean reverse) {
+        mAnimation.retargetAnimation(reverse);
+    }
+
     @Override
     public void endAnimation() {
         mAnimation.endAnimation();
@@ -40,6 +40,7 @@ public class DrawerListenerAdapter extends MenuBaseAdapter implements DrawerLayo
     public void onDrawerOpened(@NonNull View view) {
         mDrawerToggle.onDrawerOpened(view);
         getAdapterState().setState(AdapterState.OPEN);
+        flushProgress();
         stopTransition();
 
         if (mDrawerListener != null) {
@@ -51,6 +52,7 @@ public class DrawerListenerAdapter extends MenuBaseAdapter implements DrawerLayo
     public void onDrawerClosed(@NonNull View view) {
         mDrawerToggle.onDrawerClosed(view);
         getAdapterState().setState(AdapterState.CLOSE);
+        flushProgress();
         stopTransition();
 
         if (mDrawerListener != null) {
@@ -67,6 +69,7 @@ public class DrawerListenerAdapter extends MenuBaseAdapter implements DrawerLayo
                 startTransition();
                 break;
             case DrawerLayout.STATE_IDLE:
+                flushProgress();
                 stopTransition();
                 break;
         }
@@ -78,7 +81,7 @@ public class DrawerListenerAdapter extends MenuBaseAdapter implements DrawerLayo
 
     @Override
     public void onDrawerSlide(View view, float slideOffset) {
-        getTransitionManager().updateProgress(slideOffset);
+        deliverProgress(view, slideOffset);
 
         if (view == null) {
             return;
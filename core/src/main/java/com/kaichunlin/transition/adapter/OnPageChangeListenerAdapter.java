@@ -1,10 +1,14 @@
 package com.kaichunlin.transition.adapter;
 
+import android.os.Looper;
+import android.os.MessageQueue;
 import android.support.annotation.CheckResult;
 import android.support.annotation.NonNull;
 import android.support.v4.view.ViewPager;
 import android.view.View;
+import android.view.ViewTreeObserver;
 
+import com.kaichunlin.transition.AbstractTransitionBuilder;
 import com.kaichunlin.transition.DefaultTransitionManager;
 import com.kaichunlin.transition.R;
 import com.kaichunlin.transition.Transition;
@@ -16,8 +20,10 @@ import com.kaichunlin.transition.ViewTransitionBuilder;
 import com.kaichunlin.transition.internal.TransitionController;
 import com.kaichunlin.transition.util.TransitionStateLogger;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.WeakHashMap;
+import java.util.Map;
 
 /**
  * Adapter for PageView
@@ -132,7 +138,27 @@ public class OnPageChangeListenerAdapter extends AbstractAdapter implements View
     }
 
     private final ViewPager mViewPager;
-    private final WeakHashMap<View, PageHolder> mTransitionListMap = new WeakHashMap<>();
+    //kept across scroll sessions in access order, bounded by the pages the ViewPager keeps attached
+    private final LinkedHashMap<View, PageHolder> mTransitionListMap = new LinkedHashMap<>(8, 0.75f, true);
+    //difference between the scroll position filtered by the ProgressPipeline and the one reported, in pages
+    private float mPositionOffset;
+    private boolean mWarmUp;
+    private boolean mWarmUpScheduled;
+    private final MessageQueue.IdleHandler mWarmUpHandler = new MessageQueue.IdleHandler() {
+        @Override
+        public boolean queueIdle() {
+            mWarmUpScheduled = false;
+            warmUpPages();
+            return false;
+        }
+    };
+    //pages instantiated by the ViewPager are laid out before they can be transited
+    private final ViewTreeObserver.OnGlobalLayoutListener mWarmUpLayoutListener = new ViewTreeObserver.OnGlobalLayoutListener() {
+        @Override
+        public void onGlobalLayout() {
+            scheduleWarmUp();
+        }
+    };
 
     public OnPageChangeListenerAdapter(ViewPager viewPager) {
         mViewPager = viewPager;
@@ -143,6 +169,64 @@ public class OnPageChangeListenerAdapter extends AbstractAdapter implements View
         mViewPager.setPageTransformer(reverseDrawingOrder, this);
     }
 
+    /**
+     * When enabled, the transitions of the pages attached to the ViewPager are cloned and set up while the main thread
+     * is idle after a layout, instead of during the first drag frame that shows each page. {@link ViewTransition}'s set
+     * to {@link Transition#setLazySetup(boolean)} are set up as well, the warm-up takes precedence.
+     * <p>
+     * Call setWarmUp(false) before dropping the adapter: the layout listener added to the ViewPager and the pending idle
+     * handler are only removed there, and would otherwise keep the adapter and its pages alive.
+     *
+     * @param warmUp
+     */
+    public void setWarmUp(boolean warmUp) {
+        if (mWarmUp == warmUp) {
+            return;
+        }
+        mWarmUp = warmUp;
+        if (warmUp) {
+            mViewPager.getViewTreeObserver().addOnGlobalLayoutListener(mWarmUpLayoutListener);
+            scheduleWarmUp();
+        } else {
+            //deprecated in API level 16, but the replacement is not available on earlier versions
+            mViewPager.getViewTreeObserver().removeGlobalOnLayoutListener(mWarmUpLayoutListener);
+            if (mWarmUpScheduled) {
+                Looper.myQueue().removeIdleHandler(mWarmUpHandler);
+                mWarmUpScheduled = false;
+            }
+        }
+    }
+
+    public boolean isWarmUp() {
+        return mWarmUp;
+    }
+
+    private void scheduleWarmUp() {
+        if (!mWarmUp || mWarmUpScheduled) {
+            return;
+        }
+        mWarmUpScheduled = true;
+        Looper.myQueue().addIdleHandler(mWarmUpHandler);
+    }
+
+    /**
+     * Creates the holders of the attached pages that have none and runs the Setups of their transitions, so their
+     * controllers are cached and starting them at the next drag only refreshes their state
+     */
+    private void warmUpPages() {
+        if (getAdapterState().isTransiting()) {
+            return;
+        }
+        View page;
+        for (int i = 0, count = mViewPager.getChildCount(); i < count; i++) {
+            page = mViewPager.getChildAt(i);
+            if (((ViewPager.LayoutParams) page.getLayoutParams()).isDecor || mTransitionListMap.containsKey(page)) {
+                continue;
+            }
+            obtainPageHolder(page).warmUp();
+        }
+    }
+
     public OnPageChangeListenerAdapter addAndSetTransition(@NonNull ViewTransitionBuilder builder) {
         return addAndSetTransition(builder, CENTER, LEFT_OF_CENTER);
     }
@@ -152,9 +236,77 @@ public class OnPageChangeListenerAdapter extends AbstractAdapter implements View
         getTransitionManager().addTransition(vt);
         vt = builder.clone().range(-start, -end).id("RIGHT").build();
         getTransitionManager().addTransition(vt);
+        clearPageHolders();
         return this;
     }
 
+    @Override
+    public void addTransition(@NonNull AbstractTransitionBuilder transitionBuilder) {
+        super.addTransition(transitionBuilder);
+        clearPageHolders();
+    }
+
+    @Override
+    public void addTransition(@NonNull Transition transition) {
+        super.addTransition(transition);
+        clearPageHolders();
+    }
+
+    @Override
+    public void addAllTransitions(@NonNull List<Transition> transitionsList) {
+        super.addAllTransitions(transitionsList);
+        clearPageHolders();
+    }
+
+    @Override
+    public boolean removeTransition(@NonNull Transition transition) {
+        final boolean removed = super.removeTransition(transition);
+        clearPageHolders();
+        return removed;
+    }
+
+    @Override
+    public void removeAllTransitions() {
+        super.removeAllTransitions();
+        clearPageHolders();
+    }
+
+    /**
+     * Drops the cached page transitions, they are cloned again from the adapter's transitions on the next swipe
+     */
+    private void clearPageHolders() {
+        for (PageHolder holder : mTransitionListMap.values()) {
+            holder.stop();
+        }
+        mTransitionListMap.clear();
+        scheduleWarmUp();
+    }
+
+    /**
+     * Evicts the holders of pages the ViewPager has destroyed, then the least recently used ones until the cache fits
+     * the pages the ViewPager keeps attached
+     */
+    private void trimPageHolders() {
+        final int limit = mViewPager.getOffscreenPageLimit() * 2 + 1;
+        if (mTransitionListMap.size() <= limit) {
+            return;
+        }
+        Iterator<Map.Entry<View, PageHolder>> iterator = mTransitionListMap.entrySet().iterator();
+        Map.Entry<View, PageHolder> entry;
+        while (iterator.hasNext()) {
+            entry = iterator.next();
+            if (entry.getKey().getParent() != mViewPager) {
+                entry.getValue().stop();
+                iterator.remove();
+            }
+        }
+        Iterator<PageHolder> lruIterator = mTransitionListMap.values().iterator();
+        while (mTransitionListMap.size() > limit && lruIterator.hasNext()) {
+            lruIterator.next().stop();
+            lruIterator.remove();
+        }
+    }
+
     public boolean startTransition() {
         throw new UnsupportedOperationException();
     }
@@ -168,23 +320,23 @@ public class OnPageChangeListenerAdapter extends AbstractAdapter implements View
             notifyTransitionStart();
         }
 
+        PageHolder holder = obtainPageHolder(page);
+        if (!holder.mStarted) {
+            holder.start();
+        }
+
+        return true;
+    }
+
+    private PageHolder obtainPageHolder(@NonNull View page) {
         PageHolder holder = mTransitionListMap.get(page);
         if (holder == null) {
+            //only paid the first time a page is transited or warmed up, later sessions restart the cached transitions
             holder = new PageHolder(page, getTransitionManager().getTransitions());
             mTransitionListMap.put(page, holder);
-
-            List<Transition> transitionList = holder.mTransitionManager.getTransitions();
-            final int size = transitionList.size();
-            Transition transition;
-            for (int i = 0; i < size; i++) {
-                transition = transitionList.get(i);
-                transition.setUpdateStateAfterUpdateProgress(true);
-                transition.setTarget(page);
-                transition.startTransition();
-            }
+            trimPageHolders();
         }
-
-        return true;
+        return holder;
     }
 
     public void updateProgress(float value) {
@@ -199,29 +351,104 @@ public class OnPageChangeListenerAdapter extends AbstractAdapter implements View
 //            }
             return;
         }
+        holder.mCulledEdge = Float.NaN;
         holder.mTransitionManager.updateProgress(value);
     }
 
+    /**
+     * Applies the clamped end state to a page that is fully outside the visible window, once, it is then skipped
+     * until it moves back into the window
+     *
+     * @param page
+     * @param edge {@link #LEFT_OF_CENTER} or {@link #RIGHT_OF_CENTER}
+     */
+    private void cullPage(@NonNull View page, float edge) {
+        PageHolder holder = mTransitionListMap.get(page);
+        //a page that has never been transited is still in its initial state, and there is no need to set it up
+        if (holder == null || holder.mCulledEdge == edge) {
+            return;
+        }
+        if (!holder.mStarted) {
+            holder.start();
+        }
+        holder.mTransitionManager.updateProgress(edge);
+        holder.mCulledEdge = edge;
+    }
+
     public void stopTransition() {
         getAdapterState().setTransiting(false);
+        resetProgressPipeline();
+        mPositionOffset = 0;
         notifyTransitionEnd();
 
-        for (PageHolder holder : mTransitionListMap.values()) {
-            holder.mTransitionManager.stopTransition();
+        //the holders are kept for the next scroll session, except for pages the ViewPager has destroyed
+        Iterator<Map.Entry<View, PageHolder>> iterator = mTransitionListMap.entrySet().iterator();
+        Map.Entry<View, PageHolder> entry;
+        while (iterator.hasNext()) {
+            entry = iterator.next();
+            entry.getValue().stop();
+            if (entry.getKey().getParent() != mViewPager) {
+                iterator.remove();
+            }
         }
-        mTransitionListMap.clear();
     }
 
+    /**
+     * With a {@link ProgressPipeline} set, the filtered scroll position of the ViewPager is applied to all pages
+     */
     @Override
     public void transformPage(@NonNull View page, float position) {
         if (getAdapterState().isTransiting()) {
-            startTransition(page);
-            updateProgress(page, position);
+            final float reportedPosition = position;
+            position -= mPositionOffset;
+            if (position < LEFT_OF_CENTER || position > RIGHT_OF_CENTER) {
+                cullPage(page, position < CENTER ? LEFT_OF_CENTER : RIGHT_OF_CENTER);
+            } else {
+                startTransition(page);
+                updateProgress(page, position);
+            }
+            if (getProgressPipeline() != null) {
+                PageHolder holder = mTransitionListMap.get(page);
+                if (holder != null) {
+                    holder.mPosition = reportedPosition;
+                }
+            }
         }
     }
 
+    /**
+     * Called by the ViewPager before transforming the pages, the scroll position is the same for all pages so the
+     * {@link ProgressPipeline} is run once here instead of once per page
+     */
     @Override
     public void onPageScrolled(int position, float positionOffset, int positionOffsetPixels) {
+        final ProgressPipeline pipeline = getProgressPipeline();
+        if (pipeline == null || !getAdapterState().isTransiting()) {
+            mPositionOffset = 0;
+            return;
+        }
+        final float scrollPosition = position + positionOffset;
+        mPositionOffset = pipeline.process(scrollPosition) - scrollPosition;
+    }
+
+    /**
+     * Applies the position last reported for each page, so pages end where the ViewPager placed them when the filters
+     * lag behind or project ahead of the scroll position
+     */
+    private void settlePages() {
+        if (mPositionOffset == 0) {
+            return;
+        }
+        mPositionOffset = 0;
+        View page;
+        PageHolder holder;
+        for (int i = 0, count = mViewPager.getChildCount(); i < count; i++) {
+            page = mViewPager.getChildAt(i);
+            holder = mTransitionListMap.get(page);
+            if (holder != null && holder.mStarted) {
+                transformPage(page, holder.mPosition);
+            }
+        }
     }
 
     @Override
@@ -232,10 +459,14 @@ public class OnPageChangeListenerAdapter extends AbstractAdapter implements View
     public void onPageScrollStateChanged(int state) {
         switch (state) {
             case ViewPager.SCROLL_STATE_IDLE:
+                settlePages();
                 stopTransition();
                 break;
             case ViewPager.SCROLL_STATE_DRAGGING:
             case ViewPager.SCROLL_STATE_SETTLING:
+                if (!getAdapterState().isTransiting()) {
+                    resetProgressPipeline();
+                }
                 getAdapterState().setTransiting(true);
                 break;
         }
@@ -243,12 +474,52 @@ public class OnPageChangeListenerAdapter extends AbstractAdapter implements View
 
     private static class PageHolder {
         final TransitionManager mTransitionManager = new DefaultTransitionManager();
+        boolean mStarted;
+        //the edge whose state was last applied while the page was outside of the visible window, NaN if inside
+        float mCulledEdge = Float.NaN;
+        //position last reported by the ViewPager, only kept while a ProgressPipeline is set
+        float mPosition;
 
         public PageHolder(@NonNull View page, @NonNull List<Transition> transitionsList) {
             final int size = transitionsList.size();
+            Transition transition;
             for (int i = 0; i < size; i++) {
-                mTransitionManager.addTransition(transitionsList.get(i).clone());
+                transition = transitionsList.get(i).clone();
+                transition.setUpdateStateAfterUpdateProgress(true);
+                transition.setTarget(page);
+                mTransitionManager.addTransition(transition);
+            }
+        }
+
+        void start() {
+            List<Transition> transitionList = mTransitionManager.getTransitions();
+            for (int i = 0, size = transitionList.size(); i < size; i++) {
+                transitionList.get(i).startTransition();
+            }
+            mStarted = true;
+        }
+
+        void warmUp() {
+            List<Transition> transitionList = mTransitionManager.getTransitions();
+            Transition transition;
+            for (int i = 0, size = transitionList.size(); i < size; i++) {
+                transition = transitionList.get(i);
+                if (transition instanceof ViewTransition) {
+                    //startTransition() only marks a lazily set up transition as pending, so the controllers are built directly
+                    ((ViewTransition) transition).prepare();
+                } else {
+                    transition.startTransition();
+                    transition.stopTransition();
+                }
+            }
+        }
+
+        void stop() {
+            if (!mStarted) {
+                return;
             }
+            mTransitionManager.stopTransition();
+            mStarted = false;
         }
     }
 }
@@ -0,0 +1,20 @@
+package com.kaichunlin.transition.adapter;
+
+/**
+ * A stage of a {@link ProgressPipeline}, transforms the progress reported by a widget before it is passed to the
+ * transitions. Called for every reported change, so implementations should not allocate.
+ */
+public interface ProgressFilter {
+
+    /**
+     * @param progress  output of the previous stage
+     * @param timeNanos time the progress was reported, see {@link System#nanoTime()}
+     * @return the filtered progress
+     */
+    float filter(float progress, long timeNanos);
+
+    /**
+     * Called when a transition is started or stopped, state kept from earlier values should be dropped
+     */
+    void reset();
+}
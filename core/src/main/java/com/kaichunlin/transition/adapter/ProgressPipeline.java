@@ -0,0 +1,211 @@
+package com.kaichunlin.transition.adapter;
+
+import android.support.annotation.FloatRange;
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chains {@link ProgressFilter}'s between an adapter's widget and its transitions, see
+ * {@link AbstractAdapter#setProgressPipeline(ProgressPipeline)}. The filters are run in the order they are added, e.g.
+ * <pre>
+ * new ProgressPipeline().add(ProgressPipeline.smooth(16)).add(ProgressPipeline.extrapolate(16)).add(ProgressPipeline.clamp(0, 1));
+ * </pre>
+ * A pipeline keeps state between updates and should only be used by one adapter.
+ */
+public class ProgressPipeline {
+    private final List<ProgressFilter> mFilterList = new ArrayList<>();
+
+    /**
+     * Keeps the progress within the given range
+     *
+     * @param min
+     * @param max
+     * @return
+     */
+    public static ProgressFilter clamp(float min, float max) {
+        return new ClampFilter(min, max);
+    }
+
+    /**
+     * Rounds the progress to a multiple of step, together with the adapter skipping unchanged values this avoids
+     * updates that would not move the target
+     *
+     * @param step
+     * @return
+     */
+    public static ProgressFilter quantize(@FloatRange(from = 0) float step) {
+        return new QuantizeFilter(step);
+    }
+
+    /**
+     * Rounds the progress to the target's pixel resolution
+     *
+     * @param distance distance in pixels the target moves when the progress goes from 0 to 1, e.g. the drawer's width
+     * @return
+     */
+    public static ProgressFilter quantizeToPixels(@IntRange(from = 1) int distance) {
+        return new QuantizeFilter(1f / distance);
+    }
+
+    /**
+     * Exponential smoothing that evens out jittery input, at the cost of lagging behind it
+     *
+     * @param timeConstant in milliseconds, the larger the smoother
+     * @return
+     */
+    public static ProgressFilter smooth(@FloatRange(from = 0) float timeConstant) {
+        return new SmoothFilter(timeConstant);
+    }
+
+    /**
+     * Projects the progress ahead by the given time using its recent velocity, compensating for the latency between
+     * the input and the frame it is displayed on. Usually followed by {@link #clamp(float, float)}.
+     *
+     * @param lead in milliseconds
+     * @return
+     */
+    public static ProgressFilter extrapolate(@FloatRange(from = 0) float lead) {
+        return new ExtrapolateFilter(lead);
+    }
+
+    /**
+     * @param filter
+     * @return itself
+     */
+    public ProgressPipeline add(@NonNull ProgressFilter filter) {
+        mFilterList.add(filter);
+        return this;
+    }
+
+    public boolean remove(@NonNull ProgressFilter filter) {
+        return mFilterList.remove(filter);
+    }
+
+    public void clear() {
+        mFilterList.clear();
+    }
+
+    public List<ProgressFilter> getFilters() {
+        return mFilterList;
+    }
+
+    /**
+     * Runs the progress through all the filters
+     *
+     * @param progress
+     * @return the filtered progress
+     */
+    public float process(float progress) {
+        final long timeNanos = System.nanoTime();
+        for (int i = 0, size = mFilterList.size(); i < size; i++) {
+            progress = mFilterList.get(i).filter(progress, timeNanos);
+        }
+        return progress;
+    }
+
+    /**
+     * Resets all the filters, see {@link ProgressFilter#reset()}
+     */
+    public void reset() {
+        for (int i = 0, size = mFilterList.size(); i < size; i++) {
+            mFilterList.get(i).reset();
+        }
+    }
+
+    private static class ClampFilter implements ProgressFilter {
+        private final float mMin;
+        private final float mMax;
+
+        ClampFilter(float min, float max) {
+            mMin = Math.min(min, max);
+            mMax = Math.max(min, max);
+        }
+
+        @Override
+        public float filter(float progress, long timeNanos) {
+            return Math.max(mMin, Math.min(mMax, progress));
+        }
+
+        @Override
+        public void reset() {
+        }
+    }
+
+    private static class QuantizeFilter implements ProgressFilter {
+        private final float mStep;
+
+        QuantizeFilter(float step) {
+            mStep = step;
+        }
+
+        @Override
+        public float filter(float progress, long timeNanos) {
+            return Math.round(progress / mStep) * mStep;
+        }
+
+        @Override
+        public void reset() {
+        }
+    }
+
+    private static class SmoothFilter implements ProgressFilter {
+        private final float mTimeConstantNanos;
+        private float mValue = Float.NaN;
+        private long mTimeNanos;
+
+        SmoothFilter(float timeConstant) {
+            mTimeConstantNanos = timeConstant * 1_000_000;
+        }
+
+        @Override
+        public float filter(float progress, long timeNanos) {
+            if (Float.isNaN(mValue) || mTimeConstantNanos == 0) {
+                mValue = progress;
+            } else {
+                //weighted by the elapsed time so the result does not depend on how often the widget reports
+                final double alpha = 1 - Math.exp(-(timeNanos - mTimeNanos) / mTimeConstantNanos);
+                mValue += (progress - mValue) * alpha;
+            }
+            mTimeNanos = timeNanos;
+            return mValue;
+        }
+
+        @Override
+        public void reset() {
+            mValue = Float.NaN;
+        }
+    }
+
+    private static class ExtrapolateFilter implements ProgressFilter {
+        private final float mLeadNanos;
+        private float mLastProgress = Float.NaN;
+        private long mLastTimeNanos;
+        //progress per nanosecond
+        private float mVelocity;
+
+        ExtrapolateFilter(float lead) {
+            mLeadNanos = lead * 1_000_000;
+        }
+
+        @Override
+        public float filter(float progress, long timeNanos) {
+            if (!Float.isNaN(mLastProgress) && timeNanos > mLastTimeNanos) {
+                final float velocity = (progress - mLastProgress) / (timeNanos - mLastTimeNanos);
+                //averaged with the previous sample to dampen the noise of single deltas
+                mVelocity = (mVelocity + velocity) / 2;
+            }
+            mLastProgress = progress;
+            mLastTimeNanos = timeNanos;
+            return progress + mVelocity * mLeadNanos;
+        }
+
+        @Override
+        public void reset() {
+            mLastProgress = Float.NaN;
+            mVelocity = 0;
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.kaichunlin.transition.adapter;
 
+import android.support.annotation.FloatRange;
 import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import com.kaichunlin.transition.AbstractTransitionBuilder;
+import com.kaichunlin.transition.FrameBudgetGovernor;
 import com.kaichunlin.transition.animation.Animation;
 import com.kaichunlin.transition.animation.AnimationListener;
 import com.kaichunlin.transition.animation.AnimationManager;
@@ -85,6 +87,30 @@ public class UnifiedAdapter extends AbstractAdapter implements Animation, Transi
         mUpdateAnimationAdapter = true;
     }
 
+    @Override
+    public void setFrameBudgetGovernor(@Nullable FrameBudgetGovernor governor) {
+        super.setFrameBudgetGovernor(governor);
+        //progress updates are run by the wrapped adapter
+        getAdapter().setFrameBudgetGovernor(governor);
+    }
+
+    @Override
+    public void setProgressPipeline(@Nullable ProgressPipeline progressPipeline) {
+        super.setProgressPipeline(progressPipeline);
+        //the progress is reported to the wrapped adapter by its widget
+        if (getAdapter() instanceof AbstractAdapter) {
+            ((AbstractAdapter) getAdapter()).setProgressPipeline(progressPipeline);
+        }
+    }
+
+    @Override
+    public void setCoalesceProgress(boolean coalesceProgress) {
+        super.setCoalesceProgress(coalesceProgress);
+        if (getAdapter() instanceof AbstractAdapter) {
+            ((AbstractAdapter) getAdapter()).setCoalesceProgress(coalesceProgress);
+        }
+    }
+
     @Override
     public boolean startTransition(float progress) {
         cancelAnimation();
@@ -222,6 +248,16 @@ public class UnifiedAdapter extends AbstractAdapter implements Animation, Transi
         mAnimationManager.resumeAnimation();
     }
 
+    @Override
+    public void seekAnimation(@FloatRange(from = 0.0, to = 1.0) float fraction) {
+        mAnimationManager.seekAnimation(fraction);
+    }
+
+    @Override
+    public void retargetAnimation(boolean reverse) {
+        mAnimationManager.retargetAnimation(reverse);
+    }
+
     @Override
     public void endAnimation() {
         mAnimationManager.endAnimation();
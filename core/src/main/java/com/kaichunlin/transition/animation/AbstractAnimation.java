@@ -4,8 +4,11 @@ import android.os.Handler;
 import android.support.annotation.IntDef;
 import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.support.annotation.UiThread;
 
+import com.kaichunlin.transition.Transition;
+import com.kaichunlin.transition.TransitionManager;
 import com.kaichunlin.transition.TransitionOperation;
 
 import java.lang.annotation.Retention;
@@ -17,13 +20,32 @@ import java.util.Set;
  * Created by Kai on 2015/7/12.
  */
 public abstract class AbstractAnimation implements Animation {
-    @IntDef({CONTROLLER_ANIMATION, CONTROLLER_ANIMATOR})
+    @IntDef({CONTROLLER_ANIMATION, CONTROLLER_ANIMATOR, CONTROLLER_FRAME})
     @Retention(RetentionPolicy.SOURCE)
     public @interface StateControllerType {
     }
 
     public static final int CONTROLLER_ANIMATION = 0;
     public static final int CONTROLLER_ANIMATOR = 1;
+    public static final int CONTROLLER_FRAME = 2;
+
+    @IntDef({REPEAT_RESTART, REPEAT_REVERSE})
+    @Retention(RetentionPolicy.SOURCE)
+    public @interface RepeatMode {
+    }
+
+    /**
+     * Each repetition starts again from the beginning
+     */
+    public static final int REPEAT_RESTART = 1;
+    /**
+     * Each repetition plays in the opposite direction of the previous one
+     */
+    public static final int REPEAT_REVERSE = 2;
+    /**
+     * Repeats the animation until it is stopped
+     */
+    public static final int REPEAT_INFINITE = -1;
 
     protected final Runnable mStartAnimation = new Runnable() {
         @Override
@@ -39,6 +61,9 @@ public abstract class AbstractAnimation implements Animation {
     private boolean mAnimating;
     private final TransitionOperation mTransition;
     private @StateControllerType int mStateControllerType = CONTROLLER_ANIMATION;
+    private FrameClock mFrameClock;
+    private int mRepeatCount;
+    private @RepeatMode int mRepeatMode = REPEAT_RESTART;
 
     public AbstractAnimation() {
         mTransition = null;
@@ -49,9 +74,11 @@ public abstract class AbstractAnimation implements Animation {
     }
 
     /**
-     * The driver for the animation, can be either {@link #CONTROLLER_ANIMATION} or {@link #CONTROLLER_ANIMATOR},
+     * The driver for the animation, can be {@link #CONTROLLER_ANIMATION}, {@link #CONTROLLER_ANIMATOR} or {@link #CONTROLLER_FRAME},
      * currently the chief difference is that {@link #CONTROLLER_ANIMATION} may be more performant in some situations,
-     * where as {@link #CONTROLLER_ANIMATOR} allows pausing/resuming the animation on API level 19 or later.
+     * where as {@link #CONTROLLER_ANIMATOR} does not require a View but only allows pausing/resuming the animation on
+     * API level 19 or later. {@link #CONTROLLER_FRAME} is advanced by a {@link FrameClock}, supports pausing/resuming/seeking on all API levels
+     * and does not require a View, all running {@link #CONTROLLER_FRAME} animations are updated by one shared frame callback.
      * <p>
      * {@link #CONTROLLER_ANIMATION} is the default, unless a valid View cannot be found (for example when animating
      * the menu), then {@link #CONTROLLER_ANIMATOR} is automatically used.
@@ -65,10 +92,67 @@ public abstract class AbstractAnimation implements Animation {
         return mStateControllerType;
     }
 
+    /**
+     * @param frameClock the clock driving {@link #CONTROLLER_FRAME}, null to use the default clock driven by vsync
+     */
+    public void setFrameClock(@Nullable FrameClock frameClock) {
+        mFrameClock = frameClock;
+    }
+
+    @NonNull
+    public FrameClock getFrameClock() {
+        return mFrameClock == null ? DefaultFrameClock.getInstance() : mFrameClock;
+    }
+
+    /**
+     * Repeats the animation on the same {@link StateController}, the transition is neither stopped nor restarted
+     * between repetitions and no listener is notified until the last repetition ends. For {@link AnimationManager} it only
+     * applies when all its animations are {@link TransitionAnimation}, otherwise each animation's own setting is used
+     *
+     * @param repeatCount number of times the animation is repeated after its first run, or {@link #REPEAT_INFINITE}
+     */
+    public void setRepeatCount(@IntRange(from = -1) int repeatCount) {
+        mRepeatCount = repeatCount;
+    }
+
+    public int getRepeatCount() {
+        return mRepeatCount;
+    }
+
+    /**
+     * @param repeatMode {@link #REPEAT_RESTART} or {@link #REPEAT_REVERSE}, the latter plays the animation back and forth
+     */
+    public void setRepeatMode(@RepeatMode int repeatMode) {
+        mRepeatMode = repeatMode;
+    }
+
+    @RepeatMode
+    public int getRepeatMode() {
+        return mRepeatMode;
+    }
+
     protected TransitionOperation getTransition() {
         return mTransition;
     }
 
+    /**
+     * Applies the transition's state at the given progress directly, without running an animation
+     *
+     * @param progress
+     */
+    protected void snapTransition(float progress) {
+        final TransitionOperation transition = getTransition();
+        if (transition instanceof Transition) {
+            ((Transition) transition).snapTo(progress);
+        } else if (transition instanceof TransitionManager) {
+            ((TransitionManager) transition).snapTo(progress);
+        } else {
+            transition.startTransition();
+            transition.updateProgress(progress);
+            transition.stopTransition();
+        }
+    }
+
     /**
      * @param animationListener
      */
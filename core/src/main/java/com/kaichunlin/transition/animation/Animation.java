@@ -1,5 +1,6 @@
 package com.kaichunlin.transition.animation;
 
+import android.support.annotation.FloatRange;
 import android.support.annotation.IntRange;
 import android.support.annotation.UiThread;
 
@@ -67,9 +68,9 @@ public interface Animation {
     void cancelAnimation();
 
     /**
-     * Pauses the animation, i.e. the affected Views will retain their last states. A canceled animation can be resumed.
+     * Pauses the animation, i.e. the affected Views will retain their last states. A paused animation can be resumed.
      * <p>
-     * Only works for API 19+
+     * {@link AbstractAnimation#CONTROLLER_ANIMATOR} only supports pausing on API 19+
      */
     @UiThread
     void pauseAnimation();
@@ -77,11 +78,30 @@ public interface Animation {
     /**
      * Resumes the animation, i.e. the affected Views will continue its animation
      * <p>
-     * Only works for API 19+
+     * {@link AbstractAnimation#CONTROLLER_ANIMATOR} only supports resuming on API 19+
      */
     @UiThread
     void resumeAnimation();
 
+    /**
+     * Jumps to a point of the running animation, which continues from there unless paused
+     * <p>
+     * Supported by all controllers
+     *
+     * @param fraction
+     */
+    @UiThread
+    void seekAnimation(@FloatRange(from = 0.0, to = 1.0) float fraction);
+
+    /**
+     * Continues the running animation from its current progress toward its end, or toward its start if reverse is true,
+     * the duration is scaled by the remaining distance. The animation is started if it is not running.
+     *
+     * @param reverse
+     */
+    @UiThread
+    void retargetAnimation(boolean reverse);
+
     /**
      * Ends the animation, i.e. the affected Views will be assigned their final states
      */
@@ -23,10 +23,52 @@ class AnimationController extends android.view.animation.Animation implements St
     private static final int STOP_RESET = 0x04;
     private final List<AbstractAnimation> mAnimationList = new ArrayList<>();
     private WeakReference<View> mTargetRef;
-    private boolean mReverse;
+    private float mFromProgress;
+    private float mToProgress;
+    private float mProgress;
+    //set when the timing is restarted by retarget/seek/resume, so the restart is not reported as a new start, cleared
+    //by the start it suppresses or, if that never comes, when the animation is started or stopped
+    private boolean mRestarted;
     private List<TransitionOperation> mTransitionList;
     private int mStopType;
     private boolean mEnded;
+    //from startController() until the animation ends
+    private boolean mActive;
+    //while paused the animation is detached from the View, mPausedPlayTime is where it continues from
+    private boolean mPaused;
+    private long mPausedPlayTime;
+    //end callbacks caused by detaching the animation when pausing, the View may post them after it is resumed
+    private int mStaleEndCount;
+    private boolean mDetaching;
+    private boolean mDetachEndReported;
+    //restarting the timing resets Animation's repetition state, so the repetitions played are tracked here
+    private int mTotalRepeatCount;
+    private int mPlayedRepeatCount;
+    //set if the animation is resumed or sought within a reversed repetition
+    private boolean mFlipCycle;
+    //play time the next frame should continue from, -1 if the timing is not changed
+    private long mPlayTimeOffset = -1;
+    private long mLastFrameTime;
+
+    /**
+     * @param controller     a controller previously returned by this method, may be null
+     * @param target
+     * @param reverse
+     * @param transitionList
+     * @return the given controller if it is idle and hosted by the same View, otherwise a new one
+     */
+    static AnimationController obtain(AnimationController controller, View target, boolean reverse, List<TransitionOperation> transitionList) {
+        if (controller == null || controller.mActive || controller.mStaleEndCount != 0 || controller.mTargetRef.get() != target) {
+            return new AnimationController(target, reverse, transitionList);
+        }
+        controller.setDirection(reverse);
+        controller.mTransitionList = transitionList;
+        controller.mAnimationList.clear();
+        controller.mRestarted = false;
+        controller.mPaused = false;
+        controller.mPlayTimeOffset = -1;
+        return controller;
+    }
 
     AnimationController(View target, boolean reverse, final TransitionOperation transition) {
         this(target, reverse, new ArrayList<TransitionOperation>() {{
@@ -36,19 +78,65 @@ class AnimationController extends android.view.animation.Animation implements St
 
     AnimationController(View target, boolean reverse, List<TransitionOperation> transitionList) {
         mTargetRef = new WeakReference<>(target);
-        mReverse = reverse;
+        setDirection(reverse);
         mTransitionList = transitionList;
         setAnimationListener(this);
         setInterpolator(new LinearInterpolator());
     }
 
+    private void setDirection(boolean reverse) {
+        mFromProgress = reverse ? 1 : 0;
+        mToProgress = reverse ? 0 : 1;
+        mProgress = mFromProgress;
+    }
+
+    @Override
+    public boolean getTransformation(long currentTime, Transformation outTransformation) {
+        if (mPlayTimeOffset != -1) {
+            //continues from where the animation was paused or sought to
+            setStartTime(currentTime - mPlayTimeOffset);
+            mPlayTimeOffset = -1;
+            restoreRepeatState();
+        }
+        mLastFrameTime = currentTime;
+        final boolean more = super.getTransformation(currentTime, outTransformation);
+        //the start time is only reset when Animation moves on to the next repetition
+        if (more && getStartTime() == START_ON_FIRST_FRAME) {
+            mPlayedRepeatCount++;
+        }
+        return more;
+    }
+
+    /**
+     * Continues the repetitions played before the timing was restarted
+     */
+    private void restoreRepeatState() {
+        if (mTotalRepeatCount != INFINITE) {
+            setRepeatCount(Math.max(0, mTotalRepeatCount - mPlayedRepeatCount));
+        }
+        mFlipCycle = isReversedCycle();
+    }
+
+    /**
+     * @return true if the current repetition is played backward
+     */
+    private boolean isReversedCycle() {
+        return getRepeatMode() == REVERSE && (mPlayedRepeatCount & 1) == 1;
+    }
+
     @Override
     protected void applyTransformation(float interpolatedTime, Transformation t) {
         if (mStopType != 0) {
             return;
         }
+        applyProgress(mFlipCycle ? 1 - interpolatedTime : interpolatedTime);
+    }
+
+    private void applyProgress(float fraction) {
+        final float progress = mFromProgress + (mToProgress - mFromProgress) * fraction;
+        mProgress = progress;
         for (int i = 0; i < mTransitionList.size(); i++) {
-            mTransitionList.get(i).updateProgress(mReverse ? 1 - interpolatedTime : interpolatedTime);
+            mTransitionList.get(i).updateProgress(progress);
         }
     }
 
@@ -62,6 +150,14 @@ class AnimationController extends android.view.animation.Animation implements St
         setDuration(duration);
     }
 
+    @Override
+    public void setRepeat(int repeatCount, int repeatMode) {
+        //the constants match android.view.animation.Animation's
+        mTotalRepeatCount = repeatCount;
+        setRepeatCount(repeatCount);
+        setRepeatMode(repeatMode);
+    }
+
     @Override
     public void startController() {
         View target = mTargetRef.get();
@@ -70,23 +166,108 @@ class AnimationController extends android.view.animation.Animation implements St
         }
         mStopType = 0;
         mEnded = false;
+        mActive = true;
+        mPaused = false;
+        mRestarted = false;
+        mPlayTimeOffset = -1;
+        resetRepeatState();
         target.startAnimation(this);
     }
 
     /**
-     * Currently not suppported
+     * @return time played in the current repetition
+     */
+    private long getPlayTime() {
+        if (mPlayTimeOffset != -1) {
+            return mPlayTimeOffset;
+        }
+        if (getStartTime() == START_ON_FIRST_FRAME || !hasStarted()) {
+            return 0;
+        }
+        return Math.max(0, Math.min(getDuration(), mLastFrameTime - getStartTime()));
+    }
+
+    /**
+     * Detaches the animation from the View so no frame is drawn while paused, the transitions are left started
      */
     @Override
     public void pauseController() {
-        //TODO currently does nothing
+        View target = mTargetRef.get();
+        if (target == null || !mActive || mPaused || mStopType != 0) {
+            return;
+        }
+        mPausedPlayTime = getPlayTime();
+        mPaused = true;
+        final boolean running = hasStarted() && !hasEnded();
+        mDetaching = true;
+        mDetachEndReported = false;
+        target.clearAnimation();
+        mDetaching = false;
+        //depending on the API level detaching ends the animation, the end is then reported now or posted
+        if (running && hasEnded() && !mDetachEndReported) {
+            mStaleEndCount++;
+        }
+    }
+
+    @Override
+    public void resumeController() {
+        View target = mTargetRef.get();
+        if (target == null || !mPaused) {
+            return;
+        }
+        mPaused = false;
+        mPlayTimeOffset = mPausedPlayTime;
+        mRestarted = true;
+        target.startAnimation(this);
     }
 
     /**
-     * Currently not suppported
+     * Seeks within the current repetition
+     *
+     * @param fraction the point of the repetition to jump to, from 0 to 1
      */
     @Override
-    public void resumeController() {
-        //TODO currently does nothing
+    public void seekController(float fraction) {
+        View target = mTargetRef.get();
+        if (target == null || !mActive || mStopType != 0) {
+            return;
+        }
+        fraction = Math.max(0, Math.min(1, fraction));
+        final long playTime = (long) (fraction * getDuration());
+        applyProgress(isReversedCycle() ? 1 - fraction : fraction);
+        if (mPaused) {
+            mPausedPlayTime = playTime;
+        } else {
+            mPlayTimeOffset = playTime;
+            mRestarted = true;
+            target.invalidate();
+        }
+    }
+
+    @Override
+    public float getControllerProgress() {
+        return mProgress;
+    }
+
+    @Override
+    public void retargetController(float progress, long duration) {
+        View target = mTargetRef.get();
+        if (target == null || mStopType != 0 || mEnded) {
+            return;
+        }
+        mFromProgress = mProgress;
+        mToProgress = progress;
+        setDuration(duration);
+        //the repetitions start over from the new leg
+        resetRepeatState();
+        if (mPaused) {
+            mPausedPlayTime = 0;
+            return;
+        }
+        mRestarted = true;
+        //restarts the timing on the next frame
+        start();
+        target.invalidate();
     }
 
     @Override
@@ -113,8 +294,21 @@ class AnimationController extends android.view.animation.Animation implements St
         handleStop(STOP_CANCEL);
     }
 
+    private void resetRepeatState() {
+        mPlayedRepeatCount = 0;
+        mFlipCycle = false;
+        setRepeatCount(mTotalRepeatCount);
+    }
+
     private void handleStop(int stopType) {
         this.mStopType = stopType;
+        mRestarted = false;
+        if (mPaused) {
+            //already detached from the View, so the end will not be reported by it
+            mPaused = false;
+            dispatchEnd();
+            return;
+        }
         View target = mTargetRef.get();
         if (target == null) {
             return;
@@ -124,6 +318,10 @@ class AnimationController extends android.view.animation.Animation implements St
 
     @Override
     public void onAnimationStart(android.view.animation.Animation animation) {
+        if (mRestarted) {
+            mRestarted = false;
+            return;
+        }
         for (int i = 0, size = mAnimationList.size(); i < size; i++) {
             mAnimationList.get(i).notifyAnimationStart();
         }
@@ -131,9 +329,22 @@ class AnimationController extends android.view.animation.Animation implements St
 
     @Override
     public void onAnimationEnd(android.view.animation.Animation animation) {
+        if (mDetaching) {
+            mDetachEndReported = true;
+            return;
+        }
+        if (mStaleEndCount != 0) {
+            mStaleEndCount--;
+            return;
+        }
+        dispatchEnd();
+    }
+
+    private void dispatchEnd() {
         if (mEnded) {
             return;
         }
+        mActive = false;
         if (mStopType == 0) {
             mStopType = STOP_END;
         }
@@ -1,5 +1,6 @@
 package com.kaichunlin.transition.animation;
 
+import android.support.annotation.FloatRange;
 import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
 import android.support.annotation.UiThread;
@@ -46,8 +47,18 @@ public class AnimationManager extends AbstractAnimation {
     };
     private final List<AbstractAnimation> mAnimationList = new ArrayList<>();
     private StateController mSharedController;
+    //kept across runs so restarting does not construct new controllers
+    private AnimatorController mAnimatorController;
+    private AnimationController mAnimationController;
+    private FrameController mFrameController;
     private boolean mCheckAnimationType;
     private boolean mPassAnimationTypeCheck;
+    //cached by prepare() until the animations change
+    private boolean mPrepared;
+    private final List<TransitionOperation> mTransitionList = new ArrayList<>();
+    private View mControllerTarget;
+    private boolean mForceAnimator;
+    private boolean mHardwareLayer;
 
     /**
      * Same as calling addAnimation(transitionBuilder.buildAnimation())
@@ -59,6 +70,9 @@ public class AnimationManager extends AbstractAnimation {
     }
 
     private void processAnimation(AbstractAnimation animation) {
+        if (mHardwareLayer && animation.getTransition() instanceof Transition) {
+            ((Transition) animation.getTransition()).setHardwareLayer(true);
+        }
         //attempt to merge an animation
         boolean merged = false;
         //no optimization is taken if the TransitionOption is not an AbstractTransition subclass
@@ -78,6 +92,7 @@ public class AnimationManager extends AbstractAnimation {
             mAnimationList.add(animation);
         }
         mCheckAnimationType = true;
+        mPrepared = false;
     }
 
     /**
@@ -118,6 +133,29 @@ public class AnimationManager extends AbstractAnimation {
         }
     }
 
+    /**
+     * When enabled, {@link Transition#setHardwareLayer(boolean)} is turned on for the transitions of all current and
+     * future animations, disabling it leaves transitions that opted in on their own unchanged
+     *
+     * @param hardwareLayer
+     */
+    public void setHardwareLayer(boolean hardwareLayer) {
+        mHardwareLayer = hardwareLayer;
+        if (hardwareLayer) {
+            TransitionOperation transition;
+            for (int i = 0, size = mAnimationList.size(); i < size; i++) {
+                transition = mAnimationList.get(i).getTransition();
+                if (transition instanceof Transition) {
+                    ((Transition) transition).setHardwareLayer(true);
+                }
+            }
+        }
+    }
+
+    public boolean isHardwareLayer() {
+        return mHardwareLayer;
+    }
+
     /**
      * Stops and clears all transitions
      */
@@ -126,6 +164,8 @@ public class AnimationManager extends AbstractAnimation {
             mAnimationList.get(i).removeAnimationListener(mAnimationListener);
         }
         mAnimationList.clear();
+        mCheckAnimationType = true;
+        mPrepared = false;
     }
 
     /**
@@ -189,11 +229,13 @@ public class AnimationManager extends AbstractAnimation {
         doStartAnimation(duration);
     }
 
-    private void doStartAnimation(@IntRange(from = 0) int duration) {
-        final int size=mAnimationList.size();
+    /**
+     * @return true if all animations are {@link TransitionAnimation} and can be run by a shared {@link StateController}
+     */
+    private boolean checkAnimationType() {
         if (mCheckAnimationType) {
             mPassAnimationTypeCheck = true;
-            for (int i = 0; i < size; i++) {
+            for (int i = 0, size = mAnimationList.size(); i < size; i++) {
                 if (!(mAnimationList.get(i) instanceof TransitionAnimation)) {
                     mPassAnimationTypeCheck = false;
                     break;
@@ -201,31 +243,53 @@ public class AnimationManager extends AbstractAnimation {
             }
             mCheckAnimationType = false;
         }
+        return mPassAnimationTypeCheck;
+    }
 
-        if (mPassAnimationTypeCheck) {
-            List<TransitionOperation> transitionList = new ArrayList<>();
-            TransitionOperation transitionOperation;
-            for (int i = 0; i < size; i++) {
-                transitionOperation = mAnimationList.get(i).getTransition();
-                transitionList.add(transitionOperation);
-            }
-
-            //TODO fugly
-            boolean forceAnimator = false;
-            View view = null;
-            for (int i = 0; i < size; i++) {
-                view = ((AbstractTransition) (mAnimationList.get(i).getTransition())).getTarget();
+    /**
+     * Caches what is needed to start the animations on a shared {@link StateController}: the animation type check,
+     * the transition list and the View hosting the controller. The cache is kept until animations are added or removed,
+     * {@link #startAnimation()} calls this method when needed, calling it earlier moves the work out of the first start.
+     */
+    public void prepare() {
+        if (mPrepared) {
+            return;
+        }
+        mTransitionList.clear();
+        mControllerTarget = null;
+        mForceAnimator = false;
+        if (checkAnimationType()) {
+            View view;
+            for (int i = 0, size = mAnimationList.size(); i < size; i++) {
+                mTransitionList.add(mAnimationList.get(i).getTransition());
+                view = ((TransitionAnimation) mAnimationList.get(i)).getAnimationTarget();
                 if (view == null) {
-                    forceAnimator = true;
+                    mForceAnimator = true;
+                } else {
+                    mControllerTarget = view;
                 }
             }
-            if (getStateControllerType() == CONTROLLER_ANIMATOR || forceAnimator) {
-                mSharedController = new AnimatorController(isReverseAnimation());
+        }
+        mPrepared = true;
+    }
+
+    private void doStartAnimation(@IntRange(from = 0) int duration) {
+        prepare();
+        final int size = mAnimationList.size();
+        if (mPassAnimationTypeCheck) {
+            if (getStateControllerType() == CONTROLLER_FRAME) {
+                mFrameController = FrameController.obtain(mFrameController, getFrameClock(), isReverseAnimation());
+                mSharedController = mFrameController;
+            } else if (getStateControllerType() == CONTROLLER_ANIMATOR || mForceAnimator) {
+                mAnimatorController = AnimatorController.obtain(mAnimatorController, isReverseAnimation());
+                mSharedController = mAnimatorController;
             } else if (getStateControllerType() == CONTROLLER_ANIMATION) {
-                mSharedController = new AnimationController(view, isReverseAnimation(), transitionList);
+                mAnimationController = AnimationController.obtain(mAnimationController, mControllerTarget, isReverseAnimation(), mTransitionList);
+                mSharedController = mAnimationController;
             }
 
             mSharedController.setAnimationDuration(duration);
+            mSharedController.setRepeat(getRepeatCount(), getRepeatMode());
             for (int i = 0; i < size; i++) {
                 ((TransitionAnimation) mAnimationList.get(i)).prepareAnimation(mSharedController, -1);
             }
@@ -275,6 +339,43 @@ public class AnimationManager extends AbstractAnimation {
         }
     }
 
+    @UiThread
+    @Override
+    public void seekAnimation(@FloatRange(from = 0.0, to = 1.0) float fraction) {
+        if (mSharedController == null) {
+            for (int i = 0, size = mAnimationList.size(); i < size; i++) {
+                mAnimationList.get(i).seekAnimation(fraction);
+            }
+        } else {
+            mSharedController.seekController(fraction);
+        }
+    }
+
+    @UiThread
+    @Override
+    public void retargetAnimation(boolean reverse) {
+        if (!isAnimating()) {
+            setReverseAnimation(reverse);
+            startAnimation();
+            return;
+        }
+        if (isReverseAnimation() == reverse) {
+            return;
+        }
+        if (mSharedController == null) {
+            Animation animation;
+            for (int i = 0, size = mAnimationList.size(); i < size; i++) {
+                animation = mAnimationList.get(i);
+                animation.retargetAnimation(!animation.isReverseAnimation());
+            }
+            super.setReverseAnimation(reverse);
+        } else {
+            setReverseAnimation(reverse);
+            final float target = reverse ? 0 : 1;
+            mSharedController.retargetController(target, (long) (getDuration() * Math.abs(target - mSharedController.getControllerProgress())));
+        }
+    }
+
     @UiThread
     @Override
     public void endAnimation() {
@@ -292,8 +393,13 @@ public class AnimationManager extends AbstractAnimation {
         if(isAnimating()) {
             endAnimation();
         } else {
-            doStartAnimation(100);
-            endAnimation();
+            //a shared controller drives all animations in the manager's direction
+            final boolean shared = checkAnimationType();
+            AbstractAnimation animation;
+            for (int i = 0, size = mAnimationList.size(); i < size; i++) {
+                animation = mAnimationList.get(i);
+                animation.snapTransition((shared ? isReverseAnimation() : animation.isReverseAnimation()) ? 0 : 1);
+            }
             notifyAnimationEnd();
         }
     }
@@ -0,0 +1,207 @@
+package com.kaichunlin.transition.animation;
+
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+import android.support.annotation.UiThread;
+import android.view.View;
+
+import com.kaichunlin.transition.TransitionOperation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Places {@link TransitionAnimation}'s at time offsets, e.g. in sequence, staggered or overlapping, and runs them all
+ * on a single {@link StateController}: one master progress is mapped onto each animation's sub-range.
+ * <p>
+ * Only the timeline's listeners are notified, listeners of the placed animations are not.
+ */
+public class AnimationTimeline extends TransitionAnimation {
+    private final Track mTrack;
+
+    public AnimationTimeline() {
+        this(new Track());
+    }
+
+    private AnimationTimeline(Track track) {
+        super(track);
+        mTrack = track;
+    }
+
+    /**
+     * Places an animation at the given offset, running for its own duration
+     *
+     * @param animation
+     * @param startOffset in milliseconds from the start of the timeline
+     * @return itself
+     */
+    public AnimationTimeline add(@NonNull TransitionAnimation animation, @IntRange(from = 0) int startOffset) {
+        return add(animation, startOffset, animation.getDuration());
+    }
+
+    /**
+     * @param animation
+     * @param startOffset in milliseconds from the start of the timeline
+     * @param duration    in milliseconds
+     * @return itself
+     */
+    public AnimationTimeline add(@NonNull TransitionAnimation animation, @IntRange(from = 0) int startOffset, @IntRange(from = 0) int duration) {
+        mTrack.add(animation, startOffset, duration);
+        return this;
+    }
+
+    /**
+     * Places an animation right after the current end of the timeline
+     *
+     * @param animation
+     * @return itself
+     */
+    public AnimationTimeline append(@NonNull TransitionAnimation animation) {
+        return append(animation, 0);
+    }
+
+    /**
+     * Places an animation so that it starts before the current end of the timeline by the given overlap
+     *
+     * @param animation
+     * @param overlap   in milliseconds
+     * @return itself
+     */
+    public AnimationTimeline append(@NonNull TransitionAnimation animation, @IntRange(from = 0) int overlap) {
+        return add(animation, Math.max(0, mTrack.mTotalDuration - overlap));
+    }
+
+    /**
+     * Places the animations after the current end of the timeline, each one starting interval milliseconds after
+     * the previous one
+     *
+     * @param animationList
+     * @param interval      in milliseconds
+     * @return itself
+     */
+    public AnimationTimeline stagger(@NonNull List<TransitionAnimation> animationList, @IntRange(from = 0) int interval) {
+        final int offset = mTrack.mTotalDuration;
+        for (int i = 0, size = animationList.size(); i < size; i++) {
+            add(animationList.get(i), offset + i * interval);
+        }
+        return this;
+    }
+
+    /**
+     * @return the end of the last animation on the timeline, in milliseconds
+     */
+    @Override
+    public int getDuration() {
+        return mTrack.mTotalDuration;
+    }
+
+    /**
+     * Starts the timeline with its own duration, see {@link #getDuration()}
+     */
+    @UiThread
+    @Override
+    public void startAnimation() {
+        startAnimation(getDuration());
+    }
+
+    /**
+     * Starts the timeline, all offsets and durations are scaled so the timeline lasts the given duration
+     *
+     * @param duration
+     */
+    @UiThread
+    @Override
+    public void startAnimation(@IntRange(from = 0) int duration) {
+        super.startAnimation(duration);
+    }
+
+    @Override
+    View getAnimationTarget() {
+        View target;
+        for (int i = 0, size = mTrack.mAnimationList.size(); i < size; i++) {
+            target = mTrack.mAnimationList.get(i).getAnimationTarget();
+            if (target != null) {
+                return target;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Maps the timeline's progress onto the sub-range of each animation
+     */
+    private static class Track implements TransitionOperation {
+        private final List<TransitionAnimation> mAnimationList = new ArrayList<>();
+        private int[] mOffsets = new int[4];
+        private int[] mDurations = new int[4];
+        private float[] mLastProgress = new float[4];
+        private int mTotalDuration;
+
+        void add(TransitionAnimation animation, int offset, int duration) {
+            final int index = mAnimationList.size();
+            if (index == mOffsets.length) {
+                int[] offsets = new int[index * 2];
+                int[] durations = new int[index * 2];
+                float[] lastProgress = new float[index * 2];
+                System.arraycopy(mOffsets, 0, offsets, 0, index);
+                System.arraycopy(mDurations, 0, durations, 0, index);
+                System.arraycopy(mLastProgress, 0, lastProgress, 0, index);
+                mOffsets = offsets;
+                mDurations = durations;
+                mLastProgress = lastProgress;
+            }
+            mAnimationList.add(animation);
+            mLastProgress[index] = Float.NaN;
+            mOffsets[index] = offset;
+            mDurations[index] = duration;
+            mTotalDuration = Math.max(mTotalDuration, offset + duration);
+        }
+
+        @Override
+        public boolean startTransition() {
+            for (int i = 0, size = mAnimationList.size(); i < size; i++) {
+                mAnimationList.get(i).getTransition().startTransition();
+                mLastProgress[i] = Float.NaN;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean startTransition(float progress) {
+            startTransition();
+            updateProgress(progress);
+            return true;
+        }
+
+        @Override
+        public void updateProgress(float progress) {
+            final float time = progress * mTotalDuration;
+            TransitionAnimation animation;
+            float local;
+            for (int i = 0, size = mAnimationList.size(); i < size; i++) {
+                if (mDurations[i] == 0) {
+                    local = time >= mOffsets[i] ? 1 : 0;
+                } else {
+                    local = Math.max(0, Math.min(1, (time - mOffsets[i]) / mDurations[i]));
+                }
+                animation = mAnimationList.get(i);
+                if (animation.isReverseAnimation()) {
+                    local = 1 - local;
+                }
+                //animations outside of their sub-range stay at their start or end state
+                if (local == mLastProgress[i]) {
+                    continue;
+                }
+                mLastProgress[i] = local;
+                animation.getTransition().updateProgress(local);
+            }
+        }
+
+        @Override
+        public void stopTransition() {
+            for (int i = 0, size = mAnimationList.size(); i < size; i++) {
+                mAnimationList.get(i).getTransition().stopTransition();
+            }
+        }
+    }
+}
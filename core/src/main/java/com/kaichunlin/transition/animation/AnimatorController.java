@@ -9,24 +9,50 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
+ * Runs on a ValueAnimator, once constructed a controller can be reused through {@link #obtain(AnimatorController, boolean)}
+ * so that starting an animation does not allocate, progress is read without boxing on API level 12 or later.
+ * <p>
  * Created by Kai on 2015/8/7.
  */
 class AnimatorController extends ValueAnimator implements StateController, ValueAnimator.AnimatorUpdateListener, android.animation.Animator.AnimatorListener {
     private final List<AbstractAnimation> mAnimationList = new ArrayList<>();
     private boolean mReset;
     private boolean mCancel;
+    private float mFromProgress;
+    private float mToProgress;
+    private float mProgress;
+    //from startController() until the animator ends or is canceled
+    private boolean mActive;
+
+    /**
+     * @param controller a controller previously returned by this method, may be null
+     * @param reverse
+     * @return the given controller if it is idle, otherwise a new one
+     */
+    static AnimatorController obtain(AnimatorController controller, boolean reverse) {
+        if (controller == null || controller.mActive) {
+            return new AnimatorController(reverse);
+        }
+        controller.setDirection(reverse);
+        controller.mAnimationList.clear();
+        return controller;
+    }
 
     AnimatorController(boolean reverse) {
+        setDirection(reverse);
         setInterpolator(new LinearInterpolator());
-        if (reverse) {
-            setFloatValues(1, 0);
-        } else {
-            setFloatValues(0, 1);
-        }
+        //always runs forward, the direction is applied in onAnimationUpdate() so the values never need to be reset
+        setFloatValues(0, 1);
         addUpdateListener(this);
         addListener(this);
     }
 
+    private void setDirection(boolean reverse) {
+        mFromProgress = reverse ? 1 : 0;
+        mToProgress = reverse ? 0 : 1;
+        mProgress = mFromProgress;
+    }
+
     @Override
     public void addAnimation(AbstractAnimation animatorStateListener) {
         mAnimationList.add(animatorStateListener);
@@ -37,8 +63,16 @@ class AnimatorController extends ValueAnimator implements StateController, Value
         setDuration(duration);
     }
 
+    @Override
+    public void setRepeat(int repeatCount, int repeatMode) {
+        //the constants match ValueAnimator's
+        setRepeatCount(repeatCount);
+        setRepeatMode(repeatMode);
+    }
+
     @Override
     public void startController() {
+        mActive = true;
         start();
         mReset = false;
         mCancel = false;
@@ -62,6 +96,28 @@ class AnimatorController extends ValueAnimator implements StateController, Value
         resume();
     }
 
+    @Override
+    public void seekController(float fraction) {
+        setCurrentPlayTime((long) (fraction * getDuration()));
+    }
+
+    @Override
+    public float getControllerProgress() {
+        return mProgress;
+    }
+
+    @Override
+    public void retargetController(float progress, long duration) {
+        if (!mActive) {
+            return;
+        }
+        mFromProgress = mProgress;
+        mToProgress = progress;
+        setDuration(duration);
+        //restarts the timing without notifying the listeners
+        setCurrentPlayTime(0);
+    }
+
     @Override
     public void endController() {
         end();
@@ -77,12 +133,9 @@ class AnimatorController extends ValueAnimator implements StateController, Value
         }
         cancel();
 
-        //TODO optimize
         for (int i = 0, size = mAnimationList.size(); i < size; i++) {
             ani = mAnimationList.get(i);
-            ani.getTransition().startTransition();
-            ani.getTransition().updateProgress(ani.isReverseAnimation() ? 1 : 0);
-            ani.getTransition().stopTransition();
+            ani.snapTransition(ani.isReverseAnimation() ? 1 : 0);
         }
     }
 
@@ -91,10 +144,13 @@ class AnimatorController extends ValueAnimator implements StateController, Value
         cancel();
     }
 
+    @TargetApi(12)
     @Override
     public void onAnimationUpdate(ValueAnimator animation) {
         AbstractAnimation ani;
-        float progress = (Float) animation.getAnimatedValue();
+        final float fraction = Build.VERSION.SDK_INT >= 12 ? animation.getAnimatedFraction() : (Float) animation.getAnimatedValue();
+        final float progress = mFromProgress + (mToProgress - mFromProgress) * fraction;
+        mProgress = progress;
         for (int i = 0, size = mAnimationList.size(); i < size; i++) {
             ani = mAnimationList.get(i);
             ani.getTransition().updateProgress(progress);
@@ -110,6 +166,7 @@ class AnimatorController extends ValueAnimator implements StateController, Value
 
     @Override
     public void onAnimationEnd(android.animation.Animator animation) {
+        mActive = false;
         if (mReset || mCancel) {
             return;
         }
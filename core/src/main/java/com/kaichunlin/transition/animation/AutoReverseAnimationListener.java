@@ -3,6 +3,9 @@ package com.kaichunlin.transition.animation;
 /**
  * Auto play the animation in reverse right after the animation ended, currently only works when the initial animation is not set
  * with {@link Animation#setReverseAnimation(boolean)} as true.
+ * <p>
+ * To loop an animation, {@link AbstractAnimation#setRepeatCount(int)} and {@link AbstractAnimation#setRepeatMode(int)}
+ * should be used instead, which keep running on the same {@link StateController}.
  *
  * Created by Kai on 2015/12/18.
  */
@@ -0,0 +1,102 @@
+package com.kaichunlin.transition.animation;
+
+import android.annotation.TargetApi;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.NonNull;
+import android.view.Choreographer;
+
+/**
+ * {@link FrameClock} driven by Choreographer on API level 16 or later, and by a Handler posting at the frame rate on
+ * earlier versions.
+ * <p>
+ * There is one instance per process, it posts a single frame callback that runs all the callbacks posted to it in one
+ * pass, and posts nothing while no callback is waiting.
+ */
+public class DefaultFrameClock implements FrameClock {
+    private static final long FRAME_DELAY = 16;
+    private static DefaultFrameClock sInstance;
+
+    private final FrameCallbackList mCallbacks = new FrameCallbackList();
+    private Object mFrameCallback;
+    private Handler mHandler;
+    private boolean mPosted;
+
+    public static DefaultFrameClock getInstance() {
+        if (sInstance == null) {
+            sInstance = new DefaultFrameClock();
+        }
+        return sInstance;
+    }
+
+    private DefaultFrameClock() {
+    }
+
+    @Override
+    public void postFrameCallback(@NonNull FrameCallback callback) {
+        if (mCallbacks.add(callback) && !mPosted) {
+            mPosted = true;
+            if (Build.VERSION.SDK_INT >= 16) {
+                postChoreographerCallback();
+            } else {
+                getHandler().postDelayed(getRunnable(), FRAME_DELAY);
+            }
+        }
+    }
+
+    @Override
+    public void removeFrameCallback(@NonNull FrameCallback callback) {
+        mCallbacks.remove(callback);
+        if (mPosted && mCallbacks.isEmpty()) {
+            mPosted = false;
+            if (Build.VERSION.SDK_INT >= 16) {
+                removeChoreographerCallback();
+            } else {
+                getHandler().removeCallbacks(getRunnable());
+            }
+        }
+    }
+
+    private void doFrame(long frameTimeNanos) {
+        mPosted = false;
+        mCallbacks.dispatch(frameTimeNanos);
+    }
+
+    @TargetApi(16)
+    private void postChoreographerCallback() {
+        if (mFrameCallback == null) {
+            mFrameCallback = new Choreographer.FrameCallback() {
+                @Override
+                public void doFrame(long frameTimeNanos) {
+                    DefaultFrameClock.this.doFrame(frameTimeNanos);
+                }
+            };
+        }
+        Choreographer.getInstance().postFrameCallback((Choreographer.FrameCallback) mFrameCallback);
+    }
+
+    @TargetApi(16)
+    private void removeChoreographerCallback() {
+        Choreographer.getInstance().removeFrameCallback((Choreographer.FrameCallback) mFrameCallback);
+    }
+
+    private Runnable getRunnable() {
+        if (mFrameCallback == null) {
+            mFrameCallback = new Runnable() {
+                @Override
+                public void run() {
+                    doFrame(System.nanoTime());
+                }
+            };
+        }
+        return (Runnable) mFrameCallback;
+    }
+
+    private Handler getHandler() {
+        if (mHandler == null) {
+            mHandler = new Handler(Looper.getMainLooper());
+        }
+        return mHandler;
+    }
+}
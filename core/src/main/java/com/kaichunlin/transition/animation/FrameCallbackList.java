@@ -0,0 +1,73 @@
+package com.kaichunlin.transition.animation;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Callbacks posted to a {@link FrameClock}, all run in one pass per frame in the order they were posted. Shared by the
+ * clock implementations so they batch the same way.
+ */
+class FrameCallbackList {
+    private List<FrameClock.FrameCallback> mCallbacks = new ArrayList<>();
+    private List<FrameClock.FrameCallback> mRunning = new ArrayList<>();
+    private boolean mDispatching;
+
+    /**
+     * @param callback
+     * @return false if the callback is already waiting for the next frame
+     */
+    boolean add(@NonNull FrameClock.FrameCallback callback) {
+        if (mCallbacks.contains(callback)) {
+            return false;
+        }
+        mCallbacks.add(callback);
+        return true;
+    }
+
+    /**
+     * Removes a callback that has not run yet, including one waiting for its turn in the current pass
+     *
+     * @param callback
+     */
+    void remove(@NonNull FrameClock.FrameCallback callback) {
+        mCallbacks.remove(callback);
+        if (mDispatching) {
+            final int index = mRunning.indexOf(callback);
+            if (index != -1) {
+                //the slot is cleared instead of removed so the pass can go on
+                mRunning.set(index, null);
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return mCallbacks.isEmpty();
+    }
+
+    int size() {
+        return mCallbacks.size();
+    }
+
+    /**
+     * Runs all the callbacks posted before this call, callbacks posted while running are run on the next frame
+     *
+     * @param frameTimeNanos
+     */
+    void dispatch(long frameTimeNanos) {
+        final List<FrameClock.FrameCallback> callbacks = mCallbacks;
+        mCallbacks = mRunning;
+        mRunning = callbacks;
+        mDispatching = true;
+        FrameClock.FrameCallback callback;
+        for (int i = 0, size = callbacks.size(); i < size; i++) {
+            callback = callbacks.get(i);
+            if (callback != null) {
+                callback.doFrame(frameTimeNanos);
+            }
+        }
+        mDispatching = false;
+        callbacks.clear();
+    }
+}
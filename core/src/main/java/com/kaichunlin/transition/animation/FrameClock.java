@@ -0,0 +1,30 @@
+package com.kaichunlin.transition.animation;
+
+import android.support.annotation.NonNull;
+
+/**
+ * Source of frame ticks for {@link AbstractAnimation#CONTROLLER_FRAME}, the default implementation is driven by vsync
+ * through Choreographer, other implementations allow frames to be stepped manually, e.g. {@link ManualFrameClock}.
+ */
+public interface FrameClock {
+    /**
+     * Posts a callback to be run once on the next frame, posting a callback that is already waiting has no effect
+     *
+     * @param callback
+     */
+    void postFrameCallback(@NonNull FrameCallback callback);
+
+    /**
+     * Removes a callback posted by {@link #postFrameCallback(FrameCallback)} that has not run yet
+     *
+     * @param callback
+     */
+    void removeFrameCallback(@NonNull FrameCallback callback);
+
+    interface FrameCallback {
+        /**
+         * @param frameTimeNanos the time the frame started, in nanoseconds
+         */
+        void doFrame(long frameTimeNanos);
+    }
+}
@@ -0,0 +1,254 @@
+package com.kaichunlin.transition.animation;
+
+import android.support.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link StateController} advanced by a {@link FrameClock}, does not require a target View and supports pausing,
+ * resuming and seeking on all API levels.
+ * <p>
+ * A running controller posts itself to the clock for every frame, all running FrameControllers of the same clock are
+ * therefore updated in one batched pass per frame, see {@link DefaultFrameClock}.
+ */
+class FrameController implements StateController, FrameClock.FrameCallback {
+    private static final long NANOS_PER_MS = 1_000_000;
+
+    private final List<AbstractAnimation> mAnimationList = new ArrayList<>();
+    private final FrameClock mFrameClock;
+    private float mFromProgress;
+    private float mToProgress;
+    private float mProgress;
+    private long mDurationNanos;
+    //time already played, only valid when mStartTimeNanos is -1
+    private long mPlayTimeNanos;
+    //frame time corresponding to the animation's beginning, -1 until the next frame after start/resume/seek
+    private long mStartTimeNanos = -1;
+    private int mRepeatCount;
+    private int mRepeatMode = AbstractAnimation.REPEAT_RESTART;
+    private int mRepeated;
+    private boolean mRunning;
+    private boolean mPaused;
+
+    /**
+     * @param controller a controller previously returned by this method, may be null
+     * @param frameClock
+     * @param reverse
+     * @return the given controller if it is idle and uses the same clock, otherwise a new one
+     */
+    static FrameController obtain(FrameController controller, @NonNull FrameClock frameClock, boolean reverse) {
+        if (controller == null || controller.mRunning || controller.mFrameClock != frameClock) {
+            return new FrameController(frameClock, reverse);
+        }
+        controller.setDirection(reverse);
+        controller.mAnimationList.clear();
+        return controller;
+    }
+
+    FrameController(@NonNull FrameClock frameClock, boolean reverse) {
+        mFrameClock = frameClock;
+        setDirection(reverse);
+    }
+
+    private void setDirection(boolean reverse) {
+        mFromProgress = reverse ? 1 : 0;
+        mToProgress = reverse ? 0 : 1;
+        mProgress = mFromProgress;
+    }
+
+    @Override
+    public void addAnimation(AbstractAnimation animation) {
+        mAnimationList.add(animation);
+    }
+
+    @Override
+    public void setAnimationDuration(long duration) {
+        mDurationNanos = duration * NANOS_PER_MS;
+    }
+
+    @Override
+    public void setRepeat(int repeatCount, int repeatMode) {
+        mRepeatCount = repeatCount;
+        mRepeatMode = repeatMode;
+    }
+
+    @Override
+    public void startController() {
+        mRepeated = 0;
+        mPlayTimeNanos = 0;
+        mStartTimeNanos = -1;
+        mRunning = true;
+        mPaused = false;
+        for (int i = 0, size = mAnimationList.size(); i < size; i++) {
+            mAnimationList.get(i).notifyAnimationStart();
+        }
+        mFrameClock.postFrameCallback(this);
+    }
+
+    @Override
+    public void pauseController() {
+        if (!mRunning || mPaused) {
+            return;
+        }
+        mPaused = true;
+        mFrameClock.removeFrameCallback(this);
+    }
+
+    @Override
+    public void resumeController() {
+        if (!mRunning || !mPaused) {
+            return;
+        }
+        mPaused = false;
+        //continues from mPlayTimeNanos on the next frame
+        mStartTimeNanos = -1;
+        mFrameClock.postFrameCallback(this);
+    }
+
+    @Override
+    public void seekController(float fraction) {
+        if (!mRunning) {
+            return;
+        }
+        if (fraction < 0) {
+            fraction = 0;
+        } else if (fraction > 1) {
+            fraction = 1;
+        }
+        mPlayTimeNanos = (long) (mDurationNanos * fraction);
+        mStartTimeNanos = -1;
+        updateProgress(fraction);
+    }
+
+    @Override
+    public float getControllerProgress() {
+        return mProgress;
+    }
+
+    @Override
+    public void retargetController(float progress, long duration) {
+        if (!mRunning) {
+            return;
+        }
+        mFromProgress = mProgress;
+        mToProgress = progress;
+        mDurationNanos = duration * NANOS_PER_MS;
+        mPlayTimeNanos = 0;
+        mStartTimeNanos = -1;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (!mRunning || mPaused) {
+            return;
+        }
+        if (mStartTimeNanos == -1) {
+            mStartTimeNanos = frameTimeNanos - mPlayTimeNanos;
+        }
+        mPlayTimeNanos = frameTimeNanos - mStartTimeNanos;
+        if (mPlayTimeNanos >= mDurationNanos && mDurationNanos > 0) {
+            repeat();
+        }
+        if (mPlayTimeNanos >= mDurationNanos) {
+            updateProgress(1);
+            finish();
+            return;
+        }
+        updateProgress((float) mPlayTimeNanos / mDurationNanos);
+        mFrameClock.postFrameCallback(this);
+    }
+
+    /**
+     * Moves the play time into the current repetition, without going past the last one
+     */
+    private void repeat() {
+        long cycles = mPlayTimeNanos / mDurationNanos;
+        if (mRepeatCount != AbstractAnimation.REPEAT_INFINITE) {
+            cycles = Math.min(cycles, mRepeatCount - mRepeated);
+        }
+        if (cycles <= 0) {
+            return;
+        }
+        mRepeated += cycles;
+        mStartTimeNanos += cycles * mDurationNanos;
+        mPlayTimeNanos -= cycles * mDurationNanos;
+        if (mRepeatMode == AbstractAnimation.REPEAT_REVERSE && cycles % 2 == 1) {
+            final float from = mFromProgress;
+            mFromProgress = mToProgress;
+            mToProgress = from;
+        }
+    }
+
+    private void updateProgress(float fraction) {
+        final float progress = mFromProgress + (mToProgress - mFromProgress) * fraction;
+        mProgress = progress;
+        for (int i = 0, size = mAnimationList.size(); i < size; i++) {
+            mAnimationList.get(i).getTransition().updateProgress(progress);
+        }
+    }
+
+    private void finish() {
+        mRunning = false;
+        mFrameClock.removeFrameCallback(this);
+        AbstractAnimation ani;
+        for (int i = 0, size = mAnimationList.size(); i < size; i++) {
+            ani = mAnimationList.get(i);
+            ani.setAnimating(false);
+            ani.notifyAnimationEnd();
+            ani.getTransition().stopTransition();
+        }
+    }
+
+    /**
+     * @return false if the controller is not running
+     */
+    private boolean stop() {
+        mFrameClock.removeFrameCallback(this);
+        if (!mRunning) {
+            return false;
+        }
+        mRunning = false;
+        return true;
+    }
+
+    @Override
+    public void endController() {
+        if (!mRunning) {
+            return;
+        }
+        updateProgress(1);
+        finish();
+    }
+
+    @Override
+    public void resetController() {
+        final boolean running = stop();
+        AbstractAnimation ani;
+        for (int i = 0, size = mAnimationList.size(); i < size; i++) {
+            ani = mAnimationList.get(i);
+            if (running) {
+                ani.setAnimating(false);
+                ani.notifyAnimationReset();
+                ani.getTransition().updateProgress(ani.isReverseAnimation() ? 1 : 0);
+                ani.getTransition().stopTransition();
+            } else {
+                ani.snapTransition(ani.isReverseAnimation() ? 1 : 0);
+            }
+        }
+    }
+
+    @Override
+    public void cancelController() {
+        if (!stop()) {
+            return;
+        }
+        AbstractAnimation ani;
+        for (int i = 0, size = mAnimationList.size(); i < size; i++) {
+            ani = mAnimationList.get(i);
+            ani.setAnimating(false);
+            ani.notifyAnimationCancel();
+            ani.getTransition().stopTransition();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.kaichunlin.transition.animation;
+
+import android.support.annotation.NonNull;
+
+/**
+ * A {@link FrameClock} whose frames are only produced by calling {@link #step(long)}, allows animations to be advanced
+ * deterministically without a Looper, e.g. in unit tests.
+ */
+public class ManualFrameClock implements FrameClock {
+    private final FrameCallbackList mCallbacks = new FrameCallbackList();
+    private long mFrameTimeNanos;
+
+    @Override
+    public void postFrameCallback(@NonNull FrameCallback callback) {
+        mCallbacks.add(callback);
+    }
+
+    @Override
+    public void removeFrameCallback(@NonNull FrameCallback callback) {
+        mCallbacks.remove(callback);
+    }
+
+    /**
+     * Advances the clock and runs all the callbacks posted before this call
+     *
+     * @param deltaNanos time elapsed since the previous frame, in nanoseconds
+     */
+    public void step(long deltaNanos) {
+        mFrameTimeNanos += deltaNanos;
+        //callbacks posted while running are run on the next frame
+        mCallbacks.dispatch(mFrameTimeNanos);
+    }
+
+    /**
+     * @return the time of the last frame, in nanoseconds
+     */
+    public long getFrameTimeNanos() {
+        return mFrameTimeNanos;
+    }
+
+    /**
+     * @return number of callbacks waiting for the next frame
+     */
+    public int getPendingCallbackCount() {
+        return mCallbacks.size();
+    }
+}
@@ -10,12 +10,36 @@ interface StateController {
 
     void setAnimationDuration(long duration);
 
+    /**
+     * @param repeatCount number of repetitions after the first run, or {@link AbstractAnimation#REPEAT_INFINITE}
+     * @param repeatMode  {@link AbstractAnimation#REPEAT_RESTART} or {@link AbstractAnimation#REPEAT_REVERSE}
+     */
+    void setRepeat(int repeatCount, int repeatMode);
+
     void startController();
 
     void pauseController();
 
     void resumeController();
 
+    /**
+     * @param fraction the point of the animation to jump to, from 0 to 1
+     */
+    void seekController(float fraction);
+
+    /**
+     * @return the progress last applied to the transitions
+     */
+    float getControllerProgress();
+
+    /**
+     * Continues the running animation from its current progress toward a new progress, without restarting the transitions
+     *
+     * @param progress the progress to end at
+     * @param duration time to reach the progress, in milliseconds
+     */
+    void retargetController(float progress, long duration);
+
     void endController();
 
     void resetController();
@@ -1,8 +1,7 @@
 package com.kaichunlin.transition.animation;
 
-import android.annotation.TargetApi;
-import android.os.Build;
 import android.os.Handler;
+import android.support.annotation.FloatRange;
 import android.support.annotation.IntRange;
 import android.support.annotation.NonNull;
 import android.support.annotation.UiThread;
@@ -11,11 +10,19 @@ import android.view.View;
 import com.kaichunlin.transition.AbstractTransition;
 import com.kaichunlin.transition.TransitionOperation;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Created by Kai on 2015/7/12.
  */
 public class TransitionAnimation extends AbstractAnimation {
     private StateController mController;
+    //kept across runs so restarting does not construct new controllers
+    private AnimatorController mAnimatorController;
+    private AnimationController mAnimationController;
+    private FrameController mFrameController;
+    private List<TransitionOperation> mTransitionList;
     private boolean mReverse;
     private int mDuration = 300;
 
@@ -73,20 +80,36 @@ public class TransitionAnimation extends AbstractAnimation {
     @Override
     public void startAnimation(@IntRange(from = 0) final int duration) {
         if (getStateControllerType() == CONTROLLER_ANIMATION) {
-            View target = ((AbstractTransition) getTransition()).getTarget();
+            View target = getAnimationTarget();
             if (target == null) {
                 setStateControllerType(CONTROLLER_ANIMATOR);
                 startAnimation(duration);
                 return;
             }
-            mController = new AnimationController(target, mReverse, getTransition());
+            if (mTransitionList == null) {
+                mTransitionList = Collections.singletonList(getTransition());
+            }
+            mAnimationController = AnimationController.obtain(mAnimationController, target, mReverse, mTransitionList);
+            mController = mAnimationController;
         } else if (getStateControllerType() == CONTROLLER_ANIMATOR) {
-            mController = new AnimatorController(isReverseAnimation());
+            mAnimatorController = AnimatorController.obtain(mAnimatorController, isReverseAnimation());
+            mController = mAnimatorController;
+        } else if (getStateControllerType() == CONTROLLER_FRAME) {
+            mFrameController = FrameController.obtain(mFrameController, getFrameClock(), isReverseAnimation());
+            mController = mFrameController;
         }
         prepareAnimation(mController, duration);
+        mController.setRepeat(getRepeatCount(), getRepeatMode());
         mController.startController();
     }
 
+    /**
+     * @return the View that can host {@link AnimationController}, null if there is none
+     */
+    View getAnimationTarget() {
+        return getTransition() instanceof AbstractTransition ? ((AbstractTransition) getTransition()).getTarget() : null;
+    }
+
     /**
      *
      * @param sharedAnimation
@@ -133,28 +156,42 @@ public class TransitionAnimation extends AbstractAnimation {
         }
     }
 
-    @TargetApi(19)
     @Override
     public void pauseAnimation() {
-        if (Build.VERSION.SDK_INT < 19) {
-            return;
-        }
         if (mController != null) {
             mController.pauseController();
         }
     }
 
-    @TargetApi(19)
     @Override
     public void resumeAnimation() {
-        if (Build.VERSION.SDK_INT < 19) {
-            return;
-        }
         if (mController != null) {
             mController.resumeController();
         }
     }
 
+    @Override
+    public void seekAnimation(@FloatRange(from = 0.0, to = 1.0) float fraction) {
+        if (mController != null) {
+            mController.seekController(fraction);
+        }
+    }
+
+    @Override
+    public void retargetAnimation(boolean reverse) {
+        if (mController == null || !isAnimating()) {
+            setReverseAnimation(reverse);
+            startAnimation();
+            return;
+        }
+        if (mReverse == reverse) {
+            return;
+        }
+        mReverse = reverse;
+        final float target = reverse ? 0 : 1;
+        mController.retargetController(target, (long) (getDuration() * Math.abs(target - mController.getControllerProgress())));
+    }
+
     @Override
     public void endAnimation() {
         if (mController != null) {
@@ -165,8 +202,11 @@ public class TransitionAnimation extends AbstractAnimation {
 
     @Override
     public void forceEndState() {
-        startAnimation();
-        endAnimation();
+        if (isAnimating()) {
+            endAnimation();
+            return;
+        }
+        snapTransition(mReverse ? 0 : 1);
         notifyAnimationEnd();
     }
 
@@ -177,9 +217,6 @@ public class TransitionAnimation extends AbstractAnimation {
             mController.resetController();
             mController = null;
         }
-        //TODO optimize
-        getTransition().startTransition();
-        getTransition().updateProgress(mReverse ? 1 : 0);
-        getTransition().stopTransition();
+        snapTransition(mReverse ? 1 : 0);
     }
 }
\ No newline at end of file
@@ -0,0 +1,230 @@
+package com.kaichunlin.transition.internal;
+
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+import android.view.View;
+import android.view.animation.Interpolator;
+
+import com.kaichunlin.transition.TransitionConfig;
+import com.kaichunlin.transition.util.InterpolatorLookupTable;
+
+/**
+ * Applies the same property tracks to every child of a ViewGroup, each child with its own range, e.g. as computed by
+ * {@link com.kaichunlin.transition.Cascade}.
+ * <p>
+ * All per-child data is kept in flat parallel arrays and every child is evaluated in one loop, instead of creating a
+ * builder, a {@link TransitionControllerManager} and a controller for each child.
+ */
+public class CascadeTransitionController extends TransitionController<CascadeTransitionController> implements Cloneable {
+    private View[] mChildren;
+    private float[] mChildStarts;
+    private float[] mChildEnds;
+    private float[] mChildWidths;
+    private float[] mLastFractions;
+    private final int mChildCount;
+
+    //tracks shared by all children
+    private int[] mPropertyIds = new int[4];
+    private int[] mOffsets = new int[4];
+    private int[] mLengths = new int[4];
+    private boolean[] mIntTracks = new boolean[4];
+    private float[] mValues = new float[8];
+    private int mTrackCount;
+    private int mValueCount;
+    //start values read from each child for single value tracks, indexed by [track * childCount + child]
+    private float[] mChildValues = new float[0];
+    private Interpolator mActiveInterpolator = PropertyTrackController.DEFAULT_INTERPOLATOR;
+
+    /**
+     * @param children    the Views to be transited
+     * @param childStarts the start of each child's range
+     * @param childEnds   the end of each child's range
+     */
+    public CascadeTransitionController(@NonNull View[] children, @NonNull float[] childStarts, @NonNull float[] childEnds) {
+        super(null);
+        mChildCount = children.length;
+        mChildren = children;
+        mChildStarts = new float[mChildCount];
+        mChildEnds = new float[mChildCount];
+        mChildWidths = new float[mChildCount];
+        mLastFractions = new float[mChildCount];
+        System.arraycopy(childStarts, 0, mChildStarts, 0, mChildCount);
+        System.arraycopy(childEnds, 0, mChildEnds, 0, mChildCount);
+
+        float start = Float.MAX_VALUE;
+        float end = -Float.MAX_VALUE;
+        for (int i = 0; i < mChildCount; i++) {
+            mChildWidths[i] = Math.abs(mChildEnds[i] - mChildStarts[i]);
+            start = Math.min(start, Math.min(mChildStarts[i], mChildEnds[i]));
+            end = Math.max(end, Math.max(mChildStarts[i], mChildEnds[i]));
+        }
+        if (mChildCount == 0) {
+            start = DEFAULT_START;
+            end = DEFAULT_END;
+        }
+        setRange(start, end);
+    }
+
+    /**
+     * Adds a float track applied to all children, if only one value is given each child starts from its own value
+     * when {@link #start()} is called
+     *
+     * @param propertyId one of the properties supported by {@link PropertyTrackController#isSupported(int)}
+     * @param values
+     * @param offset     where the track's values start in the array
+     * @param length     number of values of the track
+     * @param reversed   should the values be read from the last to the first
+     * @return
+     */
+    public CascadeTransitionController addFloatTrack(int propertyId, @NonNull float[] values, int offset, int length, boolean reversed) {
+        final int base = addTrack(propertyId, length, false) + (length == 1 ? 1 : 0);
+        for (int i = 0; i < length; i++) {
+            mValues[base + i] = values[offset + (reversed ? length - i - 1 : i)];
+        }
+        return self();
+    }
+
+    /**
+     * Adds an int track applied to all children, if only one value is given each child starts from its own value
+     * when {@link #start()} is called
+     *
+     * @param propertyId one of the properties supported by {@link PropertyTrackController#isSupported(int)}
+     * @param values
+     * @param offset     where the track's values start in the array
+     * @param length     number of values of the track
+     * @param reversed   should the values be read from the last to the first
+     * @return
+     */
+    public CascadeTransitionController addIntTrack(int propertyId, @NonNull int[] values, int offset, int length, boolean reversed) {
+        final int base = addTrack(propertyId, length, true) + (length == 1 ? 1 : 0);
+        for (int i = 0; i < length; i++) {
+            mValues[base + i] = values[offset + (reversed ? length - i - 1 : i)];
+        }
+        return self();
+    }
+
+    /**
+     * @return number of children transited by this controller
+     */
+    public int getChildCount() {
+        return mChildCount;
+    }
+
+    private int addTrack(int propertyId, int valueCount, boolean isInt) {
+        if (!PropertyTrackController.isSupported(propertyId)) {
+            throw new IllegalArgumentException("Unsupported property: " + propertyId);
+        }
+        if (valueCount == 0) {
+            throw new IllegalArgumentException("At least one value is required");
+        }
+        final int length = valueCount == 1 ? 2 : valueCount;
+        if (mTrackCount == mPropertyIds.length) {
+            final int newSize = mTrackCount * 2;
+            int[] propertyIds = new int[newSize];
+            int[] offsets = new int[newSize];
+            int[] lengths = new int[newSize];
+            boolean[] intTracks = new boolean[newSize];
+            System.arraycopy(mPropertyIds, 0, propertyIds, 0, mTrackCount);
+            System.arraycopy(mOffsets, 0, offsets, 0, mTrackCount);
+            System.arraycopy(mLengths, 0, lengths, 0, mTrackCount);
+            System.arraycopy(mIntTracks, 0, intTracks, 0, mTrackCount);
+            mPropertyIds = propertyIds;
+            mOffsets = offsets;
+            mLengths = lengths;
+            mIntTracks = intTracks;
+        }
+        if (mValueCount + length > mValues.length) {
+            float[] values = new float[Math.max(mValues.length * 2, mValueCount + length)];
+            System.arraycopy(mValues, 0, values, 0, mValueCount);
+            mValues = values;
+        }
+        final int offset = mValueCount;
+        mPropertyIds[mTrackCount] = propertyId;
+        mOffsets[mTrackCount] = offset;
+        mLengths[mTrackCount] = valueCount == 1 ? -length : length;
+        mIntTracks[mTrackCount] = isInt;
+        mTrackCount++;
+        mValueCount += length;
+        return offset;
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        mActiveInterpolator = InterpolatorLookupTable.resolve(mInterpolator == null ? PropertyTrackController.DEFAULT_INTERPOLATOR : mInterpolator);
+        if (mChildValues.length < mTrackCount * mChildCount) {
+            mChildValues = new float[mTrackCount * mChildCount];
+        }
+        int base;
+        for (int t = 0; t < mTrackCount; t++) {
+            base = t * mChildCount;
+            for (int c = 0; c < mChildCount; c++) {
+                //resolves tracks that start from each child's current value
+                mChildValues[base + c] = mLengths[t] < 0 ? PropertyTrackController.getProperty(mChildren[c], mPropertyIds[t]) : mValues[mOffsets[t]];
+            }
+        }
+        for (int c = 0; c < mChildCount; c++) {
+            mLastFractions[c] = Float.NaN;
+        }
+    }
+
+    @Override
+    public void updateProgress(float progress) {
+        final Interpolator interpolator = mActiveInterpolator;
+        final View[] children = mChildren;
+        final float[] values = mValues;
+        final float[] childValues = mChildValues;
+        final int childCount = mChildCount;
+        View child;
+        float fraction;
+        float interpolated;
+        boolean checkDirty;
+        int propertyId;
+        float value;
+        for (int c = 0; c < childCount; c++) {
+            fraction = PropertyTrackController.getFraction(progress, mChildStarts[c], mChildEnds[c], mChildWidths[c]);
+            if (fraction == mLastFractions[c]) {
+                continue;
+            }
+            mLastFractions[c] = fraction;
+            child = children[c];
+            interpolated = interpolator.getInterpolation(fraction);
+            checkDirty = fraction != 0 && fraction != 1;
+            for (int t = 0; t < mTrackCount; t++) {
+                propertyId = mPropertyIds[t];
+                value = PropertyTrackController.evaluate(values, mOffsets[t], Math.abs(mLengths[t]), mIntTracks[t], childValues[t * childCount + c], interpolated);
+                if (checkDirty && Math.abs(value - PropertyTrackController.getProperty(child, propertyId)) < TransitionConfig.getWriteThreshold(propertyId)) {
+                    continue;
+                }
+                PropertyTrackController.setProperty(child, propertyId, value);
+            }
+        }
+    }
+
+    @Override
+    public CascadeTransitionController reverse() {
+        super.reverse();
+        float temp;
+        for (int c = 0; c < mChildCount; c++) {
+            temp = mChildStarts[c];
+            mChildStarts[c] = mChildEnds[c];
+            mChildEnds[c] = temp;
+        }
+        return self();
+    }
+
+    @CheckResult
+    @Override
+    public CascadeTransitionController clone() {
+        CascadeTransitionController newCopy = (CascadeTransitionController) super.clone();
+        newCopy.mChildStarts = mChildStarts.clone();
+        newCopy.mChildEnds = mChildEnds.clone();
+        newCopy.mLastFractions = new float[mChildCount];
+        newCopy.mChildValues = new float[0];
+        return newCopy;
+    }
+
+    protected CascadeTransitionController self() {
+        return this;
+    }
+}
@@ -31,6 +31,12 @@ public class CustomTransitionController extends TransitionController<CustomTrans
         }
     }
 
+    @Override
+    protected boolean isUpdateOutsideRange() {
+        //a TransitionHandler receives the raw progress and is free to interpret it
+        return true;
+    }
+
     @CheckResult
     @Override
     public CustomTransitionController clone() {
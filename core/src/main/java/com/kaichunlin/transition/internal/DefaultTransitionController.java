@@ -4,8 +4,10 @@ import android.support.annotation.CheckResult;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 import android.view.View;
+import android.view.animation.Interpolator;
 
 import com.kaichunlin.transition.TransitionConfig;
+import com.kaichunlin.transition.util.InterpolatorLookupTable;
 import com.nineoldandroids.animation.Animator;
 import com.nineoldandroids.animation.AnimatorSet;
 import com.nineoldandroids.animation.ValueAnimator;
@@ -97,14 +99,15 @@ public class DefaultTransitionController extends TransitionController<DefaultTra
         }
         ArrayList<Animator> animators = mAnimSet.getChildAnimations();
         final int size = animators.size();
+        final Interpolator interpolator = InterpolatorLookupTable.resolve(mInterpolator);
         Animator animator;
         for (int i = 0; i < size; i++) {
             animator = animators.get(i);
             if (mTarget != null) {
                 animator.setTarget(mTarget);
             }
-            if (mInterpolator != null) {
-                animator.setInterpolator(mInterpolator);
+            if (interpolator != null) {
+                animator.setInterpolator(interpolator);
             }
         }
     }
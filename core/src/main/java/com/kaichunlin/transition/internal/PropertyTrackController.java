@@ -0,0 +1,419 @@
+package com.kaichunlin.transition.internal;
+
+import android.support.annotation.CheckResult;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.View;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.Interpolator;
+
+import com.kaichunlin.transition.AbstractTransitionBuilder;
+import com.kaichunlin.transition.TransitionConfig;
+import com.kaichunlin.transition.util.InterpolatorLookupTable;
+
+/**
+ * Evaluates keyframes compiled into primitive tracks and writes the result directly to the target View, without going
+ * through ObjectAnimator's time conversion, keyframe objects or reflective setters.
+ * <p>
+ * Each track is keyed by one of the property IDs defined in {@link AbstractTransitionBuilder}, and its keyframes are
+ * evenly spaced over the transition range, the same way PropertyValuesHolder.ofFloat() / ofInt() would space them.
+ */
+public class PropertyTrackController extends TransitionController<PropertyTrackController> implements Cloneable {
+    //same as ValueAnimator's default, so switching from DefaultTransitionController does not alter the transition's look
+    static final Interpolator DEFAULT_INTERPOLATOR = new AccelerateDecelerateInterpolator();
+
+    private int[] mPropertyIds = new int[4];
+    private int[] mOffsets = new int[4];
+    private int[] mLengths = new int[4];
+    private boolean[] mIntTracks = new boolean[4];
+    private float[] mValues = new float[8];
+    private int mTrackCount;
+    private int mValueCount;
+    private float mLastFraction;
+    private Interpolator mActiveInterpolator = DEFAULT_INTERPOLATOR;
+
+    /**
+     * @param propertyId
+     * @return true if the property can be written directly by this controller
+     */
+    public static boolean isSupported(int propertyId) {
+        switch (propertyId) {
+            case AbstractTransitionBuilder.ALPHA:
+            case AbstractTransitionBuilder.ROTATION:
+            case AbstractTransitionBuilder.ROTATION_X:
+            case AbstractTransitionBuilder.ROTATION_Y:
+            case AbstractTransitionBuilder.SCALE_X:
+            case AbstractTransitionBuilder.SCALE_Y:
+            case AbstractTransitionBuilder.TRANSLATION_X:
+            case AbstractTransitionBuilder.TRANSLATION_Y:
+            case AbstractTransitionBuilder.X:
+            case AbstractTransitionBuilder.Y:
+                return true;
+        }
+        return false;
+    }
+
+    public PropertyTrackController() {
+        this(null);
+    }
+
+    /**
+     * @param target the View that should be transitioned
+     */
+    public PropertyTrackController(@Nullable View target) {
+        super(target);
+        updateProgressWidth();
+    }
+
+    /**
+     * Adds a float track, if only one value is given the track starts from the target's value when {@link #start()} is called
+     *
+     * @param propertyId
+     * @param values
+     * @return
+     */
+    public PropertyTrackController addFloatTrack(int propertyId, @NonNull float... values) {
+        return addFloatTrack(propertyId, values, 0, values.length, false);
+    }
+
+    /**
+     * Adds a float track from a range of a flat array
+     *
+     * @param propertyId
+     * @param values
+     * @param offset     where the track's values start in the array
+     * @param length     number of values of the track
+     * @param reversed   should the values be read from the last to the first
+     * @return
+     */
+    public PropertyTrackController addFloatTrack(int propertyId, @NonNull float[] values, int offset, int length, boolean reversed) {
+        final int base = addTrack(propertyId, length, false) + (length == 1 ? 1 : 0);
+        if (reversed) {
+            for (int i = 0; i < length; i++) {
+                mValues[base + i] = values[offset + length - i - 1];
+            }
+        } else {
+            System.arraycopy(values, offset, mValues, base, length);
+        }
+        return self();
+    }
+
+    /**
+     * Adds an int track, if only one value is given the track starts from the target's value when {@link #start()} is called
+     *
+     * @param propertyId
+     * @param values
+     * @return
+     */
+    public PropertyTrackController addIntTrack(int propertyId, @NonNull int... values) {
+        return addIntTrack(propertyId, values, 0, values.length, false);
+    }
+
+    /**
+     * Adds an int track from a range of a flat array
+     *
+     * @param propertyId
+     * @param values
+     * @param offset     where the track's values start in the array
+     * @param length     number of values of the track
+     * @param reversed   should the values be read from the last to the first
+     * @return
+     */
+    public PropertyTrackController addIntTrack(int propertyId, @NonNull int[] values, int offset, int length, boolean reversed) {
+        final int base = addTrack(propertyId, length, true) + (length == 1 ? 1 : 0);
+        for (int i = 0; i < length; i++) {
+            mValues[base + i] = values[offset + (reversed ? length - i - 1 : i)];
+        }
+        return self();
+    }
+
+    /**
+     * @return number of tracks held by this controller
+     */
+    public int getTrackCount() {
+        return mTrackCount;
+    }
+
+    /**
+     * @param other
+     * @return true if both controllers are evaluated the same way, i.e. they have the same target, range and Interpolator
+     */
+    public boolean canFuse(@NonNull PropertyTrackController other) {
+        return other != this && mTarget == other.mTarget && mStart == other.mStart && mEnd == other.mEnd
+                && mInterpolator == other.mInterpolator && mReverse == other.mReverse && mEnable == other.mEnable;
+    }
+
+    /**
+     * Moves all the tracks of another controller into this one, if both have a track for the same property, the other
+     * controller's track replaces this one's as it would have been written last
+     *
+     * @param other a controller where {@link #canFuse(PropertyTrackController)} returns true
+     * @return number of tracks replaced
+     */
+    public int fuse(@NonNull PropertyTrackController other) {
+        int replaced = 0;
+        int existing;
+        int length;
+        int base;
+        for (int i = 0; i < other.mTrackCount; i++) {
+            existing = indexOfTrack(other.mPropertyIds[i]);
+            if (existing != -1) {
+                removeTrack(existing);
+                replaced++;
+            }
+            length = Math.abs(other.mLengths[i]);
+            base = addTrack(other.mPropertyIds[i], other.mLengths[i] < 0 ? 1 : length, other.mIntTracks[i]);
+            System.arraycopy(other.mValues, other.mOffsets[i], mValues, base, length);
+        }
+        return replaced;
+    }
+
+    private int indexOfTrack(int propertyId) {
+        for (int i = 0; i < mTrackCount; i++) {
+            if (mPropertyIds[i] == propertyId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void removeTrack(int track) {
+        final int count = mTrackCount - track - 1;
+        System.arraycopy(mPropertyIds, track + 1, mPropertyIds, track, count);
+        System.arraycopy(mOffsets, track + 1, mOffsets, track, count);
+        System.arraycopy(mLengths, track + 1, mLengths, track, count);
+        System.arraycopy(mIntTracks, track + 1, mIntTracks, track, count);
+        //the values are left in the pool, the controller is only fused once per transition
+        mTrackCount--;
+    }
+
+    private int addTrack(int propertyId, int valueCount, boolean isInt) {
+        if (!isSupported(propertyId)) {
+            throw new IllegalArgumentException("Unsupported property: " + propertyId);
+        }
+        if (valueCount == 0) {
+            throw new IllegalArgumentException("At least one value is required");
+        }
+        //a single value means the start value has to be read from the target, reserve a slot for it
+        final int length = valueCount == 1 ? 2 : valueCount;
+        if (mTrackCount == mPropertyIds.length) {
+            final int newSize = mTrackCount * 2;
+            mPropertyIds = copyOf(mPropertyIds, newSize);
+            mOffsets = copyOf(mOffsets, newSize);
+            mLengths = copyOf(mLengths, newSize);
+            boolean[] intTracks = new boolean[newSize];
+            System.arraycopy(mIntTracks, 0, intTracks, 0, mTrackCount);
+            mIntTracks = intTracks;
+        }
+        if (mValueCount + length > mValues.length) {
+            float[] values = new float[Math.max(mValues.length * 2, mValueCount + length)];
+            System.arraycopy(mValues, 0, values, 0, mValueCount);
+            mValues = values;
+        }
+        final int offset = mValueCount;
+        mPropertyIds[mTrackCount] = propertyId;
+        mOffsets[mTrackCount] = offset;
+        mLengths[mTrackCount] = valueCount == 1 ? -length : length;
+        mIntTracks[mTrackCount] = isInt;
+        mTrackCount++;
+        mValueCount += length;
+        return offset;
+    }
+
+    private static int[] copyOf(int[] array, int newSize) {
+        int[] newArray = new int[newSize];
+        System.arraycopy(array, 0, newArray, 0, array.length);
+        return newArray;
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        if (TransitionConfig.isDebug()) {
+            getTransitionStateHolder().clear();
+        }
+        mLastFraction = Float.NaN;
+        mActiveInterpolator = InterpolatorLookupTable.resolve(mInterpolator == null ? DEFAULT_INTERPOLATOR : mInterpolator);
+        if (mTarget == null) {
+            return;
+        }
+        //resolves tracks that start from the target's current value
+        for (int i = 0; i < mTrackCount; i++) {
+            if (mLengths[i] < 0) {
+                mValues[mOffsets[i]] = getProperty(mTarget, mPropertyIds[i]);
+            }
+        }
+    }
+
+    @Override
+    public void updateProgress(float progress) {
+        final float fraction = getFraction(progress, mStart, mEnd, mProgressWidth);
+        if (fraction == mLastFraction || mTarget == null) {
+            return;
+        }
+        mLastFraction = fraction;
+
+        final float interpolated = mActiveInterpolator.getInterpolation(fraction);
+        //the exact values are always written at either end of the range
+        final boolean checkDirty = fraction != 0 && fraction != 1;
+        int propertyId;
+        float value;
+        for (int i = 0; i < mTrackCount; i++) {
+            propertyId = mPropertyIds[i];
+            value = evaluate(i, interpolated);
+            //the View holds the value last written by any controller, skips changes too small to be visible
+            if (checkDirty && Math.abs(value - getProperty(mTarget, propertyId)) < TransitionConfig.getWriteThreshold(propertyId)) {
+                continue;
+            }
+            setProperty(mTarget, propertyId, value);
+        }
+
+        if (TransitionConfig.isDebug()) {
+            appendLog("updateProgress: \t[" + mStart + ".." + mEnd + "], progress=" + progress + ", fraction=" + fraction);
+        }
+    }
+
+    /**
+     * @return how far the progress is into [start..end], clamped to [0..1]
+     */
+    static float getFraction(float progress, float start, float end, float width) {
+        if (start <= end) {
+            if (progress <= start) {
+                return width == 0 && progress == start ? 1 : 0;
+            } else if (progress >= end) {
+                return 1;
+            }
+            return (progress - start) / width;
+        }
+        if (progress >= start) {
+            return 0;
+        } else if (progress <= end) {
+            return 1;
+        }
+        return (start - progress) / width;
+    }
+
+    private float evaluate(int track, float fraction) {
+        final int offset = mOffsets[track];
+        return evaluate(mValues, offset, Math.abs(mLengths[track]), mIntTracks[track], mValues[offset], fraction);
+    }
+
+    /**
+     * Same evaluation as NineOldAndroids' FloatKeyframeSet/IntKeyframeSet with evenly spaced keyframes, including
+     * extrapolation when an Interpolator overshoots [0..1]
+     *
+     * @param values
+     * @param offset
+     * @param length
+     * @param isInt
+     * @param first    used in place of values[offset], allows tracks sharing the same values to start from different values
+     * @param fraction
+     * @return
+     */
+    static float evaluate(float[] values, int offset, int length, boolean isInt, float first, float fraction) {
+        final int interval;
+        final float intervalFraction;
+        if (length == 2) {
+            interval = 0;
+            intervalFraction = fraction;
+        } else {
+            final int last = length - 1;
+            if (fraction <= 0f) {
+                interval = 0;
+            } else if (fraction >= 1f) {
+                interval = last - 1;
+            } else {
+                interval = Math.min((int) (fraction * last), last - 1);
+            }
+            intervalFraction = fraction * last - interval;
+        }
+        final float from = interval == 0 ? first : values[offset + interval];
+        final float to = values[offset + interval + 1];
+        if (isInt) {
+            return (int) (from + intervalFraction * (to - from));
+        }
+        return from + intervalFraction * (to - from);
+    }
+
+    static float getProperty(@NonNull View view, int propertyId) {
+        switch (propertyId) {
+            case AbstractTransitionBuilder.ALPHA:
+                return view.getAlpha();
+            case AbstractTransitionBuilder.ROTATION:
+                return view.getRotation();
+            case AbstractTransitionBuilder.ROTATION_X:
+                return view.getRotationX();
+            case AbstractTransitionBuilder.ROTATION_Y:
+                return view.getRotationY();
+            case AbstractTransitionBuilder.SCALE_X:
+                return view.getScaleX();
+            case AbstractTransitionBuilder.SCALE_Y:
+                return view.getScaleY();
+            case AbstractTransitionBuilder.TRANSLATION_X:
+                return view.getTranslationX();
+            case AbstractTransitionBuilder.TRANSLATION_Y:
+                return view.getTranslationY();
+            case AbstractTransitionBuilder.X:
+                return view.getX();
+            case AbstractTransitionBuilder.Y:
+                return view.getY();
+        }
+        throw new IllegalArgumentException("Unsupported property: " + propertyId);
+    }
+
+    static void setProperty(@NonNull View view, int propertyId, float value) {
+        switch (propertyId) {
+            case AbstractTransitionBuilder.ALPHA:
+                view.setAlpha(value);
+                break;
+            case AbstractTransitionBuilder.ROTATION:
+                view.setRotation(value);
+                break;
+            case AbstractTransitionBuilder.ROTATION_X:
+                view.setRotationX(value);
+                break;
+            case AbstractTransitionBuilder.ROTATION_Y:
+                view.setRotationY(value);
+                break;
+            case AbstractTransitionBuilder.SCALE_X:
+                view.setScaleX(value);
+                break;
+            case AbstractTransitionBuilder.SCALE_Y:
+                view.setScaleY(value);
+                break;
+            case AbstractTransitionBuilder.TRANSLATION_X:
+                view.setTranslationX(value);
+                break;
+            case AbstractTransitionBuilder.TRANSLATION_Y:
+                view.setTranslationY(value);
+                break;
+            case AbstractTransitionBuilder.X:
+                view.setX(value);
+                break;
+            case AbstractTransitionBuilder.Y:
+                view.setY(value);
+                break;
+        }
+    }
+
+    private void appendLog(String msg) {
+        getTransitionStateHolder().append(getId() + "->View" + mTarget.hashCode(), this, msg);
+    }
+
+    @CheckResult
+    @Override
+    public PropertyTrackController clone() {
+        PropertyTrackController newCopy = (PropertyTrackController) super.clone();
+        //the track tables are rewritten in place by fuse(), and values may be modified by start(), so none can be shared
+        newCopy.mPropertyIds = mPropertyIds.clone();
+        newCopy.mOffsets = mOffsets.clone();
+        newCopy.mLengths = mLengths.clone();
+        newCopy.mIntTracks = mIntTracks.clone();
+        newCopy.mValues = mValues.clone();
+        return newCopy;
+    }
+
+    protected PropertyTrackController self() {
+        return this;
+    }
+}
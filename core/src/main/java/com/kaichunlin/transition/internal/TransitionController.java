@@ -63,6 +63,14 @@ public abstract class TransitionController<T extends TransitionController> {
      */
     protected abstract void updateProgress(float progress);
 
+    /**
+     * @return true if {@link #updateProgress(float)} may act on progress outside of [start..end], in which case the
+     * controller is updated on every progress change instead of only when the progress enters, leaves or moves within its range
+     */
+    protected boolean isUpdateOutsideRange() {
+        return false;
+    }
+
     /**
      * Ends the transition
      */
@@ -175,8 +183,6 @@ public abstract class TransitionController<T extends TransitionController> {
     }
 
     /**
-     * TODO hack to make ViewPager work
-     *
      * @return is the controlled enabled
      */
     public boolean isEnable() {
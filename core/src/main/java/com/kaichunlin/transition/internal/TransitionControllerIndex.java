@@ -0,0 +1,152 @@
+package com.kaichunlin.transition.internal;
+
+import android.support.annotation.NonNull;
+
+import java.util.List;
+
+/**
+ * Interval index over the ranges of a list of {@link TransitionController}, used to find the controllers affected by a
+ * progress change without visiting every controller.
+ * <p>
+ * Controllers are sorted by the lower bound of their range, along with the running maximum of the upper bounds so both
+ * ends of the candidate window can be binary searched.
+ */
+class TransitionControllerIndex {
+    private float[] mLow = new float[0];
+    private float[] mHigh = new float[0];
+    private float[] mMaxHigh = new float[0];
+    private int[] mOrder = new int[0];
+    private int[] mCandidates = new int[0];
+    private int mSize;
+
+    /**
+     * Rebuilds the index, only the controllers accepted by the filter are indexed
+     *
+     * @param controllers
+     * @param filter      null if all controllers should be indexed
+     */
+    void build(@NonNull List<TransitionController> controllers, Filter filter) {
+        final int count = controllers.size();
+        if (mOrder.length < count) {
+            mLow = new float[count];
+            mHigh = new float[count];
+            mMaxHigh = new float[count];
+            mOrder = new int[count];
+            mCandidates = new int[count];
+        }
+        mSize = 0;
+        TransitionController controller;
+        float low;
+        float high;
+        int j;
+        for (int i = 0; i < count; i++) {
+            controller = controllers.get(i);
+            if (filter != null && !filter.accept(controller)) {
+                continue;
+            }
+            if (controller.isUpdateOutsideRange()) {
+                low = Float.NEGATIVE_INFINITY;
+                high = Float.POSITIVE_INFINITY;
+            } else {
+                low = Math.min(controller.getStart(), controller.getEnd());
+                high = Math.max(controller.getStart(), controller.getEnd());
+            }
+            //stable insertion sort, the number of controllers is usually small
+            j = mSize - 1;
+            while (j >= 0 && mLow[j] > low) {
+                mLow[j + 1] = mLow[j];
+                mHigh[j + 1] = mHigh[j];
+                mOrder[j + 1] = mOrder[j];
+                j--;
+            }
+            mLow[j + 1] = low;
+            mHigh[j + 1] = high;
+            mOrder[j + 1] = i;
+            mSize++;
+        }
+        float maxHigh = Float.NEGATIVE_INFINITY;
+        for (int i = 0; i < mSize; i++) {
+            if (mHigh[i] > maxHigh) {
+                maxHigh = mHigh[i];
+            }
+            mMaxHigh[i] = maxHigh;
+        }
+    }
+
+    /**
+     * @return number of indexed controllers
+     */
+    int size() {
+        return mSize;
+    }
+
+    /**
+     * Finds the controllers whose range intersects [from..to], the result is sorted by the order the controllers were
+     * added so overlapping controllers are still applied in the same order.
+     *
+     * @param from
+     * @param to
+     * @return number of candidates, whose positions in the original list are stored in {@link #getCandidates()}
+     */
+    int query(float from, float to) {
+        if (from > to) {
+            float temp = from;
+            from = to;
+            to = temp;
+        }
+        //first controller whose range may reach from
+        int lo = 0;
+        int hi = mSize;
+        int mid;
+        while (lo < hi) {
+            mid = (lo + hi) >>> 1;
+            if (mMaxHigh[mid] < from) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        final int first = lo;
+        //first controller that starts after to
+        hi = mSize;
+        while (lo < hi) {
+            mid = (lo + hi) >>> 1;
+            if (mLow[mid] <= to) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        final int last = lo;
+
+        final int[] candidates = mCandidates;
+        int count = 0;
+        int order;
+        int j;
+        for (int i = first; i < last; i++) {
+            if (mHigh[i] < from) {
+                continue;
+            }
+            order = mOrder[i];
+            j = count - 1;
+            while (j >= 0 && candidates[j] > order) {
+                candidates[j + 1] = candidates[j];
+                j--;
+            }
+            candidates[j + 1] = order;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * @return positions of the candidates found by the last {@link #query(float, float)} call
+     */
+    int[] getCandidates() {
+        return mCandidates;
+    }
+
+    interface Filter {
+        boolean accept(TransitionController controller);
+    }
+}
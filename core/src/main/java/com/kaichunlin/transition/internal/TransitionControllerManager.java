@@ -22,12 +22,33 @@ import java.util.List;
  * Created by Kai-Chun Lin on 2015/4/14.
  */
 public class TransitionControllerManager implements Cloneable {
+    private static final TransitionControllerIndex.Filter LEFT_OF_CENTER = new TransitionControllerIndex.Filter() {
+        @Override
+        public boolean accept(TransitionController controller) {
+            return controller.getEnd() < 0;
+        }
+    };
+    private static final TransitionControllerIndex.Filter RIGHT_OF_CENTER = new TransitionControllerIndex.Filter() {
+        @Override
+        public boolean accept(TransitionController controller) {
+            return controller.getEnd() > 0;
+        }
+    };
+
     private List<TransitionController> mTransitionControls = new ArrayList<>();
     private Interpolator mInterpolator;
     private String mId;
     private View mTarget;
     float mLastProgress;
     private boolean mUpdateStateAfterUpdateProgress;
+    private TransitionControllerIndex mIndex = new TransitionControllerIndex();
+    private TransitionControllerIndex mLeftIndex = new TransitionControllerIndex();
+    private TransitionControllerIndex mRightIndex = new TransitionControllerIndex();
+    private boolean mIndexDirty = true;
+    private boolean mUpdateAll;
+    private boolean mSkipCustomControllers;
+    //between start() and end(), the controllers hold the start values captured by start()
+    private boolean mStarted;
 
     public TransitionControllerManager(String id) {
         mId = id;
@@ -88,6 +109,7 @@ public class TransitionControllerManager implements Cloneable {
         boolean changed = false;
         if (!mTransitionControls.contains(transitionController)) {
             mTransitionControls.add(transitionController);
+            mIndexDirty = true;
             changed = true;
         }
         if (!changed && TransitionConfig.isDebug()) {
@@ -96,6 +118,42 @@ public class TransitionControllerManager implements Cloneable {
         return transitionController;
     }
 
+    /**
+     * Collapses the {@link PropertyTrackController}s sharing the same target, range and Interpolator into one, so each
+     * View is evaluated once per progress update. When several of them write to the same property, the one added last
+     * wins, the same as when they were evaluated one after another.
+     * <p>
+     * A controller is not moved past another controller on the same target that can't be fused, to preserve the order
+     * of writes.
+     */
+    public void fuseControllers() {
+        TransitionController controller;
+        PropertyTrackController fused;
+        int replaced;
+        for (int i = 0; i < mTransitionControls.size(); i++) {
+            controller = mTransitionControls.get(i);
+            if (!(controller instanceof PropertyTrackController)) {
+                continue;
+            }
+            fused = (PropertyTrackController) controller;
+            for (int j = i + 1; j < mTransitionControls.size(); ) {
+                controller = mTransitionControls.get(j);
+                if (controller instanceof PropertyTrackController && fused.canFuse((PropertyTrackController) controller)) {
+                    replaced = fused.fuse((PropertyTrackController) controller);
+                    mTransitionControls.remove(j);
+                    mIndexDirty = true;
+                    if (replaced != 0 && TransitionConfig.isDebug()) {
+                        getTransitionStateHolder().append(mId + "->" + mTarget, this, "Conflicting writes resolved: " + replaced + " track(s) of " + fused.getId() + " replaced");
+                    }
+                } else if (controller.getTarget() == fused.getTarget()) {
+                    break;
+                } else {
+                    j++;
+                }
+            }
+        }
+    }
+
     /**
      * Starts the transition
      */
@@ -105,6 +163,7 @@ public class TransitionControllerManager implements Cloneable {
         }
 
         mLastProgress = Float.MIN_VALUE;
+        mStarted = true;
 
         TransitionController transitionController;
         for (int i = 0, size = mTransitionControls.size(); i < size; i++) {
@@ -119,6 +178,47 @@ public class TransitionControllerManager implements Cloneable {
             transitionController.setUpdateStateAfterUpdateProgress(mUpdateStateAfterUpdateProgress);
             transitionController.start();
         }
+        buildIndex();
+    }
+
+    /**
+     * Applies the state at the given progress to every controller in one pass, without building the dispatch index,
+     * the same as calling {@link #start()}, {@link #updateProgress(float)} and {@link #end()}
+     * <p>
+     * If the transition is started, e.g. during a drag or an animation, the progress is only updated and the
+     * controllers are left running: restarting them would capture the mid-transition state as the start values.
+     *
+     * @param progress
+     */
+    public void snap(float progress) {
+        if (mStarted) {
+            updateProgress(progress);
+            return;
+        }
+        if (mUpdateStateAfterUpdateProgress) {
+            //only one side of center may be updated, which requires the index
+            start();
+            updateProgress(progress);
+            end();
+            return;
+        }
+        TransitionController transitionController;
+        for (int i = 0, size = mTransitionControls.size(); i < size; i++) {
+            transitionController = mTransitionControls.get(i);
+            if (mInterpolator != null) {
+                transitionController.setInterpolator(mInterpolator);
+            }
+            if (mTarget != null) {
+                transitionController.setTarget(mTarget);
+            }
+            transitionController.setUpdateStateAfterUpdateProgress(false);
+            transitionController.start();
+            if (transitionController.isEnable()) {
+                transitionController.updateProgress(progress);
+            }
+            transitionController.end();
+        }
+        mLastProgress = progress;
     }
 
     private TransitionStateLogger getTransitionStateHolder() {
@@ -138,6 +238,7 @@ public class TransitionControllerManager implements Cloneable {
             getTransitionStateHolder().print();
         }
 
+        mStarted = false;
         for (int i = 0, size = mTransitionControls.size(); i < size; i++) {
             mTransitionControls.get(i).end();
         }
@@ -149,36 +250,71 @@ public class TransitionControllerManager implements Cloneable {
      * @param progress the possible range of values depends on the {@link TransitionManager} being used
      */
     public void updateProgress(float progress) {
+        updateProgress(progress, false);
+    }
+
+    /**
+     * @param progress
+     * @param skipCustomControllers true to skip {@link CustomTransitionController}'s, which are updated on every progress
+     *                              change and so catch up on the next update that does not skip them
+     */
+    public void updateProgress(float progress, boolean skipCustomControllers) {
+        mSkipCustomControllers = skipCustomControllers;
         if (mLastProgress == progress) {
             return;
         }
+        final float lastProgress = mLastProgress;
         mLastProgress = progress;
-        //TODO this makes ViewPager work, but will probably break more complex transition setup, will think of a better solution
-        if (mUpdateStateAfterUpdateProgress) {
-            boolean positive = progress >= 0;
-            TransitionController transitionController;
-            for (int i = 0, size = mTransitionControls.size(); i < size; i++) {
-                transitionController = mTransitionControls.get(i);
-                if (positive) {
-                    if (transitionController.getEnd() > 0) {
-                        transitionController.setEnable(true);
-                    } else {
-                        transitionController.setEnable(false);
-                    }
-                } else {
-                    if (transitionController.getEnd() < 0) {
-                        transitionController.setEnable(true);
-                    } else {
-                        transitionController.setEnable(false);
-                    }
-                }
+
+        if (mIndexDirty) {
+            buildIndex();
+        }
+        if (!mUpdateStateAfterUpdateProgress) {
+            if (mUpdateAll) {
+                mUpdateAll = false;
+                dispatch(mIndex, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, progress);
+            } else {
+                //only controllers whose range was entered, left or moved within need to be updated, the rest are
+                //already at their start or end state
+                dispatch(mIndex, lastProgress, progress, progress);
             }
+            return;
+        }
+
+        //ViewPager mode: a page right of center only runs the controllers ending right of center, and vice versa
+        final boolean positive = progress >= 0;
+        final TransitionControllerIndex index = positive ? mRightIndex : mLeftIndex;
+        if (mUpdateAll) {
+            mUpdateAll = false;
+            dispatch(index, Float.NEGATIVE_INFINITY, Float.POSITIVE_INFINITY, progress);
+        } else if (positive == lastProgress >= 0) {
+            dispatch(index, lastProgress, progress, progress);
+        } else {
+            //the page crossed the center, settles the group being left before handing over to the other one
+            dispatch(positive ? mLeftIndex : mRightIndex, lastProgress, 0, 0);
+            dispatch(index, 0, progress, progress);
         }
+    }
 
+    private void buildIndex() {
+        if (mUpdateStateAfterUpdateProgress) {
+            mLeftIndex.build(mTransitionControls, LEFT_OF_CENTER);
+            mRightIndex.build(mTransitionControls, RIGHT_OF_CENTER);
+        } else {
+            mIndex.build(mTransitionControls, null);
+        }
+        mIndexDirty = false;
+        //every controller needs to apply its initial state
+        mUpdateAll = true;
+    }
+
+    private void dispatch(TransitionControllerIndex index, float from, float to, float progress) {
+        final int count = index.query(from, to);
+        final int[] candidates = index.getCandidates();
         TransitionController transitionController;
-        for (int i = 0, size = mTransitionControls.size(); i < size; i++) {
-            transitionController = mTransitionControls.get(i);
-            if (transitionController.isEnable()) {
+        for (int i = 0; i < count; i++) {
+            transitionController = mTransitionControls.get(candidates[i]);
+            if (transitionController.isEnable() && !(mSkipCustomControllers && transitionController instanceof CustomTransitionController)) {
                 transitionController.updateProgress(progress);
             }
         }
@@ -209,6 +345,7 @@ public class TransitionControllerManager implements Cloneable {
         for (int i = 0, size = mTransitionControls.size(); i < size; i++) {
             mTransitionControls.get(i).reverse();
         }
+        mIndexDirty = true;
     }
 
     /**
@@ -219,9 +356,15 @@ public class TransitionControllerManager implements Cloneable {
     }
 
     /**
-     * @param updateStateAfterUpdateProgress whether or not to update a controller's enable state after each {@link #updateProgress(float)} call
+     * Enables the ViewPager mode: controllers are split into those ending left of center and those ending right of
+     * center when {@link #start()} is called, and only the group on the same side as the progress is updated
+     *
+     * @param updateStateAfterUpdateProgress
      */
     public void setUpdateStateAfterUpdateProgress(boolean updateStateAfterUpdateProgress) {
+        if (mUpdateStateAfterUpdateProgress != updateStateAfterUpdateProgress) {
+            mIndexDirty = true;
+        }
         mUpdateStateAfterUpdateProgress = updateStateAfterUpdateProgress;
     }
 
@@ -235,6 +378,11 @@ public class TransitionControllerManager implements Cloneable {
             for (int i = 0, size = mTransitionControls.size(); i < size; i++) {
                 newClone.mTransitionControls.add(mTransitionControls.get(i).clone());
             }
+            newClone.mIndex = new TransitionControllerIndex();
+            newClone.mLeftIndex = new TransitionControllerIndex();
+            newClone.mRightIndex = new TransitionControllerIndex();
+            newClone.mIndexDirty = true;
+            newClone.mStarted = false;
         } catch (CloneNotSupportedException e) {
             e.printStackTrace();
         }
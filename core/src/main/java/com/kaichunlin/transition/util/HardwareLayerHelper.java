@@ -0,0 +1,65 @@
+package com.kaichunlin.transition.util;
+
+import android.support.annotation.NonNull;
+import android.support.annotation.UiThread;
+import android.view.View;
+
+import com.kaichunlin.transition.R;
+
+/**
+ * Switches a View to {@link View#LAYER_TYPE_HARDWARE} while it's being transited and restores its previous layer type
+ * afterward.
+ * <p>
+ * Requests are reference counted per View, so transitions sharing the same target only restore the layer type when the
+ * last one stops.
+ */
+@UiThread
+public class HardwareLayerHelper {
+    private static class LayerState {
+        int count;
+        int previousLayerType;
+    }
+
+    /**
+     * Promotes the View to a hardware layer, does nothing if the View is not hardware accelerated since a software layer
+     * would only slow the transition down
+     *
+     * @param view
+     * @return true if the request is counted and {@link #release(View)} should be called later
+     */
+    public static boolean acquire(@NonNull View view) {
+        LayerState state = (LayerState) view.getTag(R.id.hardware_layer_id);
+        if (state != null && state.count > 0) {
+            state.count++;
+            return true;
+        }
+        if (!view.isHardwareAccelerated()) {
+            return false;
+        }
+        if (state == null) {
+            state = new LayerState();
+            view.setTag(R.id.hardware_layer_id, state);
+        }
+        state.count = 1;
+        state.previousLayerType = view.getLayerType();
+        if (state.previousLayerType != View.LAYER_TYPE_HARDWARE) {
+            view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+        }
+        return true;
+    }
+
+    /**
+     * Restores the View's previous layer type once all requests made by {@link #acquire(View)} are released
+     *
+     * @param view
+     */
+    public static void release(@NonNull View view) {
+        LayerState state = (LayerState) view.getTag(R.id.hardware_layer_id);
+        if (state == null || state.count == 0) {
+            return;
+        }
+        if (--state.count == 0 && view.getLayerType() != state.previousLayerType) {
+            view.setLayerType(state.previousLayerType, null);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.kaichunlin.transition.util;
+
+import android.support.annotation.IntRange;
+import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
+import android.view.animation.AccelerateDecelerateInterpolator;
+import android.view.animation.BounceInterpolator;
+import android.view.animation.Interpolator;
+import android.view.animation.LinearInterpolator;
+
+import com.kaichunlin.transition.TransitionConfig;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * An Interpolator baked into a table of precomputed values, values between the samples are linearly interpolated.
+ * <p>
+ * Tables are cached per Interpolator instance, and per class for Interpolators known to have no state (e.g.
+ * AccelerateDecelerateInterpolator), so switching between Interpolators does not recompute the tables. A table only
+ * weakly references its source, so caching it does not keep the Interpolator alive.
+ */
+public class InterpolatorLookupTable implements Interpolator {
+    public static final int DEFAULT_RESOLUTION = 256;
+
+    private static final Map<Interpolator, InterpolatorLookupTable> sInstanceCache = new WeakHashMap<>();
+    private static final Map<Class<?>, InterpolatorLookupTable> sClassCache = new HashMap<>();
+    private static final Set<String> sStatelessClasses = new HashSet<>();
+
+    static {
+        sStatelessClasses.add(AccelerateDecelerateInterpolator.class.getName());
+        sStatelessClasses.add(BounceInterpolator.class.getName());
+        //referenced by name to avoid depending on support-v4 directly
+        sStatelessClasses.add("android.support.v4.view.animation.FastOutLinearInInterpolator");
+        sStatelessClasses.add("android.support.v4.view.animation.FastOutSlowInInterpolator");
+        sStatelessClasses.add("android.support.v4.view.animation.LinearOutSlowInInterpolator");
+    }
+
+    //weak as the table is the value of sInstanceCache, whose key is the source
+    private final WeakReference<Interpolator> mSourceRef;
+    private final float[] mTable;
+    private final int mResolution;
+
+    /**
+     * Returns the Interpolator that should be used in the transition hot path, i.e. a lookup table if enabled by
+     * {@link TransitionConfig#setInterpolatorLookupTable(boolean)}, otherwise the Interpolator itself
+     *
+     * @param interpolator
+     * @return
+     */
+    public static Interpolator resolve(@Nullable Interpolator interpolator) {
+        if (interpolator == null || !TransitionConfig.isInterpolatorLookupTable()) {
+            return interpolator;
+        }
+        return of(interpolator, TransitionConfig.getInterpolatorLookupTableResolution());
+    }
+
+    /**
+     * @param interpolator
+     * @param resolution   number of intervals in the table
+     * @return a cached lookup table for the Interpolator, LinearInterpolator and lookup tables are returned as they are
+     */
+    public static Interpolator of(@NonNull Interpolator interpolator, @IntRange(from = 1) int resolution) {
+        if (interpolator instanceof InterpolatorLookupTable || interpolator instanceof LinearInterpolator) {
+            return interpolator;
+        }
+        InterpolatorLookupTable table = sInstanceCache.get(interpolator);
+        if (table != null && table.mResolution == resolution) {
+            return table;
+        }
+        final Class<?> cls = interpolator.getClass();
+        final boolean stateless = sStatelessClasses.contains(cls.getName());
+        if (stateless) {
+            table = sClassCache.get(cls);
+        }
+        if (table == null || table.mResolution != resolution) {
+            table = new InterpolatorLookupTable(interpolator, resolution);
+            if (stateless) {
+                sClassCache.put(cls, table);
+            }
+        }
+        sInstanceCache.put(interpolator, table);
+        return table;
+    }
+
+    /**
+     * Allows lookup tables to be shared by all instances of an Interpolator class, should only be used for classes whose
+     * output depends on the input alone
+     *
+     * @param interpolatorClass
+     */
+    public static void registerStatelessClass(@NonNull Class<? extends Interpolator> interpolatorClass) {
+        sStatelessClasses.add(interpolatorClass.getName());
+    }
+
+    /**
+     * Drops all cached lookup tables
+     */
+    public static void clearCache() {
+        sInstanceCache.clear();
+        sClassCache.clear();
+    }
+
+    /**
+     * @param source
+     * @param resolution number of intervals in the table
+     */
+    public InterpolatorLookupTable(@NonNull Interpolator source, @IntRange(from = 1) int resolution) {
+        if (resolution < 1) {
+            throw new IllegalArgumentException("Resolution must be at least 1");
+        }
+        mSourceRef = new WeakReference<>(source);
+        mResolution = resolution;
+        mTable = new float[resolution + 1];
+        for (int i = 0; i <= resolution; i++) {
+            mTable[i] = source.getInterpolation((float) i / resolution);
+        }
+    }
+
+    @Override
+    public float getInterpolation(float input) {
+        if (input < 0 || input > 1) {
+            final Interpolator source = mSourceRef.get();
+            if (source != null) {
+                return source.getInterpolation(input);
+            }
+            input = input < 0 ? 0 : 1;
+        }
+        final float position = input * mResolution;
+        final int index = (int) position;
+        if (index >= mResolution) {
+            return mTable[mResolution];
+        }
+        final float from = mTable[index];
+        return from + (position - index) * (mTable[index + 1] - from);
+    }
+
+    /**
+     * @return the Interpolator the table is computed from, null if it has been garbage collected, in which case input
+     * outside of [0..1] is clamped
+     */
+    @Nullable
+    public Interpolator getSource() {
+        return mSourceRef.get();
+    }
+
+    public int getResolution() {
+        return mResolution;
+    }
+}
@@ -0,0 +1,66 @@
+package com.kaichunlin.transition;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AbstractTransitionBuilderTest {
+
+    @Test
+    public void addingTrackToCloneLeavesSourceUnchanged() {
+        ViewTransitionBuilder source = ViewTransitionBuilder.transit().alpha(0f, 1f);
+        ViewTransitionBuilder clone = source.clone().translationX(0f, 100f);
+
+        assertFalse(source.mKeyframes.has(AbstractTransitionBuilder.TRANSLATION_X));
+        assertEquals(1, source.mKeyframes.size());
+        assertTrue(clone.mKeyframes.has(AbstractTransitionBuilder.TRANSLATION_X));
+        assertEquals(2, clone.mKeyframes.size());
+    }
+
+    @Test
+    public void changingTrackOfCloneLeavesSourceUnchanged() {
+        ViewTransitionBuilder source = ViewTransitionBuilder.transit().alpha(0f, 1f);
+        ViewTransitionBuilder clone = source.clone().alpha(1f, 0.5f, 0f);
+
+        assertTrack(source.mKeyframes, AbstractTransitionBuilder.ALPHA, 0f, 1f);
+        assertTrack(clone.mKeyframes, AbstractTransitionBuilder.ALPHA, 1f, 0.5f, 0f);
+    }
+
+    @Test
+    public void siblingClonesDoNotShareTracks() {
+        ViewTransitionBuilder source = ViewTransitionBuilder.transit().alpha(0f, 1f);
+        ViewTransitionBuilder first = source.clone().rotation(0f, 90f);
+        ViewTransitionBuilder second = source.clone().scaleX(1f, 2f);
+
+        assertTrack(source.mKeyframes, AbstractTransitionBuilder.ALPHA, 0f, 1f);
+        assertFalse(source.mKeyframes.has(AbstractTransitionBuilder.ROTATION));
+        assertFalse(source.mKeyframes.has(AbstractTransitionBuilder.SCALE_X));
+
+        assertTrack(first.mKeyframes, AbstractTransitionBuilder.ROTATION, 0f, 90f);
+        assertFalse(first.mKeyframes.has(AbstractTransitionBuilder.SCALE_X));
+
+        assertTrack(second.mKeyframes, AbstractTransitionBuilder.SCALE_X, 1f, 2f);
+        assertFalse(second.mKeyframes.has(AbstractTransitionBuilder.ROTATION));
+    }
+
+    @Test
+    public void changingSourceLeavesCloneUnchanged() {
+        ViewTransitionBuilder source = ViewTransitionBuilder.transit().alpha(0f, 1f);
+        ViewTransitionBuilder clone = source.clone();
+        source.alpha(0.5f, 0.25f).translationY(0f, 10f);
+
+        assertTrack(clone.mKeyframes, AbstractTransitionBuilder.ALPHA, 0f, 1f);
+        assertFalse(clone.mKeyframes.has(AbstractTransitionBuilder.TRANSLATION_Y));
+    }
+
+    private static void assertTrack(AbstractTransitionBuilder.Keyframes keyframes, int propertyId, float... expected) {
+        assertTrue(keyframes.has(propertyId));
+        assertEquals(expected.length, keyframes.lengths[propertyId]);
+        final int offset = keyframes.offsets[propertyId];
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], keyframes.floatValues[offset + i], 0);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.kaichunlin.transition;
+
+import com.kaichunlin.transition.animation.ManualFrameClock;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class FrameBudgetGovernorTest {
+    private static final long FRAME_NANOS = 16_000_000;
+
+    private ManualFrameClock mClock;
+    private FrameBudgetGovernor mGovernor;
+
+    @Before
+    public void setUp() {
+        mClock = new ManualFrameClock();
+        mGovernor = new FrameBudgetGovernor(20, FrameBudgetGovernor.DEGRADE_SKIP_FRAMES);
+        mGovernor.setFrameClock(mClock);
+    }
+
+    private void update(long millis) throws InterruptedException {
+        mGovernor.begin();
+        if (millis != 0) {
+            Thread.sleep(millis);
+        }
+        mGovernor.end();
+    }
+
+    @Test
+    public void updatesOfFrameAreAddedUp() throws InterruptedException {
+        update(6);
+        assertFalse(mGovernor.isDegraded());
+        update(6);
+        update(6);
+        update(6);
+        assertTrue(mGovernor.isDegraded());
+    }
+
+    @Test
+    public void updatesOfDifferentFramesAreNotAddedUp() throws InterruptedException {
+        for (int i = 0; i < 4; i++) {
+            update(6);
+            mClock.step(FRAME_NANOS);
+        }
+        assertFalse(mGovernor.isDegraded());
+    }
+
+    @Test
+    public void recoversAfterCheapFrames() throws InterruptedException {
+        update(25);
+        assertTrue(mGovernor.isDegraded());
+        mClock.step(FRAME_NANOS);
+        for (int i = 0; i < 9; i++) {
+            update(0);
+            mClock.step(FRAME_NANOS);
+        }
+        assertTrue(mGovernor.isDegraded());
+        update(0);
+        mClock.step(FRAME_NANOS);
+        assertFalse(mGovernor.isDegraded());
+    }
+
+    @Test
+    public void skippedFrameFollowsFrames() throws InterruptedException {
+        update(0);
+        final boolean skipped = mGovernor.isSkippedFrame();
+        //every update of a frame gets the same answer
+        update(0);
+        assertEquals(skipped, mGovernor.isSkippedFrame());
+        mClock.step(FRAME_NANOS);
+        update(0);
+        assertEquals(!skipped, mGovernor.isSkippedFrame());
+        update(0);
+        assertEquals(!skipped, mGovernor.isSkippedFrame());
+    }
+
+    @Test
+    public void stopsTickingWithoutUpdates() throws InterruptedException {
+        update(0);
+        mClock.step(FRAME_NANOS);
+        assertEquals(1, mClock.getPendingCallbackCount());
+        mClock.step(FRAME_NANOS);
+        assertEquals(0, mClock.getPendingCallbackCount());
+        update(0);
+        assertEquals(1, mClock.getPendingCallbackCount());
+    }
+}
@@ -0,0 +1,104 @@
+package com.kaichunlin.transition.adapter;
+
+import com.kaichunlin.transition.DefaultTransitionManager;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AbstractAdapterTest {
+
+    /**
+     * Records the progress passed on by the adapter
+     */
+    static class RecordingTransitionManager extends DefaultTransitionManager {
+        float mProgress = Float.NaN;
+        int mUpdateCount;
+
+        @Override
+        public void updateProgress(float value) {
+            mProgress = value;
+            mUpdateCount++;
+        }
+    }
+
+    /**
+     * Reports progress the way the widget adapters do, without a View so nothing is coalesced
+     */
+    static class TestAdapter extends AbstractAdapter {
+        void report(float progress) {
+            deliverProgress(null, progress);
+        }
+
+        void flush() {
+            flushProgress();
+        }
+    }
+
+    private RecordingTransitionManager mManager;
+    private TestAdapter mAdapter;
+
+    @Before
+    public void setUp() {
+        mManager = new RecordingTransitionManager();
+        mAdapter = new TestAdapter();
+        mAdapter.setTransitionManager(mManager);
+    }
+
+    @Test
+    public void progressPassesUnchangedWithoutPipeline() {
+        mAdapter.report(0.3f);
+        mAdapter.report(0.3f);
+        assertEquals(0.3f, mManager.mProgress, 0);
+        assertEquals(2, mManager.mUpdateCount);
+    }
+
+    @Test
+    public void unchangedProgressIsSkipped() {
+        mAdapter.setProgressPipeline(new ProgressPipeline().add(ProgressPipeline.quantize(0.5f)));
+        mAdapter.report(0.1f);
+        mAdapter.report(0.2f);
+        mAdapter.report(0.6f);
+        assertEquals(0.5f, mManager.mProgress, 0);
+        assertEquals(2, mManager.mUpdateCount);
+    }
+
+    @Test
+    public void flushResetsSmoothingToInput() {
+        //long enough that the reports below barely move the smoothed value
+        mAdapter.setProgressPipeline(new ProgressPipeline().add(ProgressPipeline.smooth(60_000)));
+        mAdapter.report(0);
+        mAdapter.report(1);
+        assertTrue(mManager.mProgress < 0.5f);
+
+        mAdapter.flush();
+        assertEquals(1, mManager.mProgress, 0);
+    }
+
+    @Test
+    public void flushResetsExtrapolationToInput() throws InterruptedException {
+        mAdapter.setProgressPipeline(new ProgressPipeline().add(ProgressPipeline.extrapolate(60_000)));
+        mAdapter.report(0);
+        //the reports must be apart in time for a velocity
+        Thread.sleep(1);
+        mAdapter.report(0.5f);
+        assertTrue(mManager.mProgress > 0.5f);
+
+        mAdapter.flush();
+        assertEquals(0.5f, mManager.mProgress, 0);
+    }
+
+    @Test
+    public void flushAppliesFilteredInput() {
+        mAdapter.setProgressPipeline(new ProgressPipeline()
+                .add(ProgressPipeline.smooth(60_000))
+                .add(ProgressPipeline.clamp(0, 0.8f)));
+        mAdapter.report(0);
+        mAdapter.report(1);
+
+        mAdapter.flush();
+        assertEquals(0.8f, mManager.mProgress, 0);
+    }
+}
@@ -0,0 +1,106 @@
+package com.kaichunlin.transition.adapter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ProgressPipelineTest {
+    private static final float DELTA = 1e-5f;
+    private static final long MILLIS = 1_000_000;
+
+    @Test
+    public void clampKeepsProgressInRange() {
+        ProgressFilter clamp = ProgressPipeline.clamp(0.2f, 0.8f);
+        assertEquals(0.2f, clamp.filter(-1, 0), 0);
+        assertEquals(0.5f, clamp.filter(0.5f, 0), 0);
+        assertEquals(0.8f, clamp.filter(2, 0), 0);
+    }
+
+    @Test
+    public void clampAcceptsSwappedBounds() {
+        ProgressFilter clamp = ProgressPipeline.clamp(1, 0);
+        assertEquals(0, clamp.filter(-0.5f, 0), 0);
+        assertEquals(1, clamp.filter(1.5f, 0), 0);
+    }
+
+    @Test
+    public void quantizeRoundsToStep() {
+        ProgressFilter quantize = ProgressPipeline.quantize(0.25f);
+        assertEquals(0.25f, quantize.filter(0.3f, 0), DELTA);
+        assertEquals(0.5f, quantize.filter(0.4f, 0), DELTA);
+        assertEquals(1, quantize.filter(1, 0), DELTA);
+    }
+
+    @Test
+    public void quantizeToPixelsRoundsToWholePixels() {
+        ProgressFilter quantize = ProgressPipeline.quantizeToPixels(200);
+        //24.68 pixels
+        assertEquals(25f / 200, quantize.filter(0.1234f, 0), DELTA);
+        assertEquals(0, quantize.filter(0.002f, 0), DELTA);
+    }
+
+    @Test
+    public void smoothLagsBehindInput() {
+        ProgressFilter smooth = ProgressPipeline.smooth(10);
+        //the first value is taken as it is
+        assertEquals(0, smooth.filter(0, 0), 0);
+        //one time constant closes 1 - 1/e of the gap
+        assertEquals(1 - (float) Math.exp(-1), smooth.filter(1, 10 * MILLIS), DELTA);
+    }
+
+    @Test
+    public void smoothDoesNotDependOnReportRate() {
+        ProgressFilter once = ProgressPipeline.smooth(10);
+        once.filter(0, 0);
+        ProgressFilter twice = ProgressPipeline.smooth(10);
+        twice.filter(0, 0);
+        twice.filter(1, 5 * MILLIS);
+        assertEquals(once.filter(1, 10 * MILLIS), twice.filter(1, 10 * MILLIS), DELTA);
+    }
+
+    @Test
+    public void smoothResetTakesNextValue() {
+        ProgressFilter smooth = ProgressPipeline.smooth(10);
+        smooth.filter(0, 0);
+        smooth.filter(1, MILLIS);
+        smooth.reset();
+        assertEquals(0.5f, smooth.filter(0.5f, 2 * MILLIS), 0);
+    }
+
+    @Test
+    public void extrapolateProjectsByVelocity() {
+        ProgressFilter extrapolate = ProgressPipeline.extrapolate(16);
+        //no velocity yet
+        assertEquals(0, extrapolate.filter(0, 0), 0);
+        //0.01 per millisecond, averaged with the initial velocity of 0
+        assertEquals(0.1f + 0.005f * 16, extrapolate.filter(0.1f, 10 * MILLIS), DELTA);
+        assertEquals(0.2f + 0.0075f * 16, extrapolate.filter(0.2f, 20 * MILLIS), DELTA);
+    }
+
+    @Test
+    public void extrapolateResetDropsVelocity() {
+        ProgressFilter extrapolate = ProgressPipeline.extrapolate(16);
+        extrapolate.filter(0, 0);
+        extrapolate.filter(0.1f, 10 * MILLIS);
+        extrapolate.reset();
+        assertEquals(0.5f, extrapolate.filter(0.5f, 20 * MILLIS), 0);
+    }
+
+    @Test
+    public void filtersRunInOrder() {
+        ProgressPipeline quantizeFirst = new ProgressPipeline()
+                .add(ProgressPipeline.quantize(0.5f))
+                .add(ProgressPipeline.clamp(0, 0.4f));
+        assertEquals(0.4f, quantizeFirst.process(0.3f), DELTA);
+
+        ProgressPipeline clampFirst = new ProgressPipeline()
+                .add(ProgressPipeline.clamp(0, 0.4f))
+                .add(ProgressPipeline.quantize(0.5f));
+        assertEquals(0.5f, clampFirst.process(0.3f), DELTA);
+    }
+
+    @Test
+    public void emptyPipelinePassesProgress() {
+        assertEquals(0.3f, new ProgressPipeline().process(0.3f), 0);
+    }
+}
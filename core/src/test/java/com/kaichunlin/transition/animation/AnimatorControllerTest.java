@@ -0,0 +1,215 @@
+package com.kaichunlin.transition.animation;
+
+import com.kaichunlin.transition.TransitionOperation;
+
+import android.animation.ValueAnimator;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * The framework's ValueAnimator cannot run in JVM tests, so frames are delivered to the controller's
+ * {@link AnimatorController#onAnimationUpdate(ValueAnimator)} by a {@link FrameAnimator} the same way the ValueAnimator
+ * delivers them.
+ */
+public class AnimatorControllerTest {
+    private static final int FRAMES = 100_000;
+    //the lowest count of several rounds is used, the JVM may lazily allocate on first use of the counter
+    private static final int ROUNDS = 3;
+
+    /**
+     * Keeps the last progress so the updates are not optimized away
+     */
+    static class ProgressTransition implements TransitionOperation {
+        float mProgress;
+
+        @Override
+        public boolean startTransition() {
+            return true;
+        }
+
+        @Override
+        public boolean startTransition(float progress) {
+            mProgress = progress;
+            return true;
+        }
+
+        @Override
+        public void updateProgress(float progress) {
+            mProgress = progress;
+        }
+
+        @Override
+        public void stopTransition() {
+        }
+    }
+
+    /**
+     * Stands in for the ValueAnimator the controller listens to, reports the fraction of the frame it is set to
+     */
+    static class FrameAnimator extends ValueAnimator {
+        //boxed ahead of time so that only the controller's allocations are counted
+        private final Float[] mValues;
+        private int mFrame;
+
+        FrameAnimator(int frames) {
+            mValues = new Float[frames + 1];
+            for (int i = 0; i <= frames; i++) {
+                mValues[i] = (float) i / frames;
+            }
+        }
+
+        void setFrame(int frame) {
+            mFrame = frame;
+        }
+
+        @Override
+        public float getAnimatedFraction() {
+            return mValues[mFrame];
+        }
+
+        @Override
+        public Object getAnimatedValue() {
+            return mValues[mFrame];
+        }
+    }
+
+    private com.sun.management.ThreadMXBean mThreadBean;
+    private long mOverhead;
+    private ProgressTransition mTransition;
+    private TransitionAnimation mAnimation;
+    private FrameAnimator mAnimator;
+
+    @Before
+    public void setUp() {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        mThreadBean = (com.sun.management.ThreadMXBean) threadBean;
+        assumeTrue(mThreadBean.isThreadAllocatedMemorySupported());
+        mThreadBean.setThreadAllocatedMemoryEnabled(true);
+        mOverhead = measureOverhead();
+
+        mTransition = new ProgressTransition();
+        mAnimation = new TransitionAnimation(mTransition);
+        mAnimator = new FrameAnimator(FRAMES);
+    }
+
+    @Test
+    public void framesDoNotAllocate() {
+        AnimatorController controller = AnimatorController.obtain(null, false);
+        controller.addAnimation(mAnimation);
+        //warms up the JIT and any lazily initialized state
+        runFrames(controller, FRAMES);
+
+        assertEquals("bytes allocated over " + FRAMES + " frames", 0, measureFrames(controller));
+        assertEquals(1, mTransition.mProgress, 0);
+    }
+
+    @Test
+    public void reverseFramesDoNotAllocate() {
+        AnimatorController controller = AnimatorController.obtain(null, true);
+        controller.addAnimation(mAnimation);
+        runFrames(controller, FRAMES);
+
+        assertEquals("bytes allocated over " + FRAMES + " frames", 0, measureFrames(controller));
+        assertEquals(0, mTransition.mProgress, 0);
+    }
+
+    @Test
+    public void idleControllerIsReused() {
+        AnimatorController controller = AnimatorController.obtain(null, false);
+        controller.addAnimation(mAnimation);
+        controller.onAnimationStart(controller);
+        runFrames(controller, 10);
+        controller.onAnimationEnd(controller);
+
+        AnimatorController reused = AnimatorController.obtain(controller, true);
+        assertSame(controller, reused);
+        //the direction of the reused controller is reset
+        reused.addAnimation(mAnimation);
+        mAnimator.setFrame(0);
+        reused.onAnimationUpdate(mAnimator);
+        assertEquals(1, mTransition.mProgress, 0);
+    }
+
+    @Test
+    public void reusingControllerDoesNotAllocate() {
+        AnimatorController controller = AnimatorController.obtain(null, false);
+        for (int i = 0; i < 1_000; i++) {
+            controller = restart(controller, i);
+        }
+
+        long allocated = Long.MAX_VALUE;
+        long start;
+        for (int round = 0; round < ROUNDS; round++) {
+            start = allocatedBytes();
+            for (int i = 0; i < 1_000; i++) {
+                controller = restart(controller, i);
+            }
+            allocated = Math.min(allocated, allocatedBytes() - start - mOverhead);
+        }
+
+        assertEquals("bytes allocated over 1000 restarts", 0, allocated);
+    }
+
+    @Test
+    public void activeControllerIsNotReused() {
+        AnimatorController controller = AnimatorController.obtain(null, false);
+        //starting the stubbed ValueAnimator does nothing, but the controller is marked as running
+        controller.startController();
+        assertNotSame(controller, AnimatorController.obtain(controller, false));
+    }
+
+    private AnimatorController restart(AnimatorController controller, int run) {
+        controller = AnimatorController.obtain(controller, (run & 1) == 1);
+        controller.addAnimation(mAnimation);
+        mAnimator.setFrame(FRAMES / 2);
+        controller.onAnimationUpdate(mAnimator);
+        return controller;
+    }
+
+    private void runFrames(AnimatorController controller, int frames) {
+        for (int i = 0; i <= frames; i++) {
+            mAnimator.setFrame(i);
+            controller.onAnimationUpdate(mAnimator);
+        }
+    }
+
+    /**
+     * @return bytes allocated by the frames
+     */
+    private long measureFrames(AnimatorController controller) {
+        long allocated = Long.MAX_VALUE;
+        long start;
+        for (int round = 0; round < ROUNDS; round++) {
+            start = allocatedBytes();
+            runFrames(controller, FRAMES);
+            allocated = Math.min(allocated, allocatedBytes() - start - mOverhead);
+        }
+        return allocated;
+    }
+
+    /**
+     * @return bytes allocated by reading the counter itself
+     */
+    private long measureOverhead() {
+        long overhead = Long.MAX_VALUE;
+        long start;
+        for (int i = 0; i < 10; i++) {
+            start = allocatedBytes();
+            overhead = Math.min(overhead, allocatedBytes() - start);
+        }
+        return overhead;
+    }
+
+    private long allocatedBytes() {
+        return mThreadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,260 @@
+package com.kaichunlin.transition.animation;
+
+import com.kaichunlin.transition.TransitionOperation;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Steps {@link AbstractAnimation#CONTROLLER_FRAME} animations with a {@link ManualFrameClock}, no Looper is involved.
+ */
+public class FrameControllerTest {
+    private static final long FRAME_NANOS = 10_000_000;
+    private static final float DELTA = 1e-4f;
+
+    /**
+     * Records the calls made by the animation
+     */
+    static class RecordingTransition implements TransitionOperation {
+        float mProgress = Float.NaN;
+        int mUpdateCount;
+        int mStartCount;
+        int mStopCount;
+
+        @Override
+        public boolean startTransition() {
+            mStartCount++;
+            return true;
+        }
+
+        @Override
+        public boolean startTransition(float progress) {
+            startTransition();
+            mProgress = progress;
+            return true;
+        }
+
+        @Override
+        public void updateProgress(float progress) {
+            mProgress = progress;
+            mUpdateCount++;
+        }
+
+        @Override
+        public void stopTransition() {
+            mStopCount++;
+        }
+    }
+
+    /**
+     * Counts the listener notifications
+     */
+    static class CountingListener implements AnimationListener {
+        int mStartCount;
+        int mEndCount;
+        int mCancelCount;
+
+        @Override
+        public void onAnimationStart(Animation animation) {
+            mStartCount++;
+        }
+
+        @Override
+        public void onAnimationEnd(Animation animation) {
+            mEndCount++;
+        }
+
+        @Override
+        public void onAnimationCancel(Animation animation) {
+            mCancelCount++;
+        }
+
+        @Override
+        public void onAnimationReset(Animation animation) {
+        }
+    }
+
+    private ManualFrameClock mClock;
+    private RecordingTransition mTransition;
+    private CountingListener mListener;
+    private TransitionAnimation mAnimation;
+
+    @Before
+    public void setUp() {
+        mClock = new ManualFrameClock();
+        mTransition = new RecordingTransition();
+        mListener = new CountingListener();
+        mAnimation = new TransitionAnimation(mTransition);
+        mAnimation.setStateControllerType(AbstractAnimation.CONTROLLER_FRAME);
+        mAnimation.setFrameClock(mClock);
+        mAnimation.addAnimationListener(mListener);
+    }
+
+    @Test
+    public void progressFollowsClock() {
+        mAnimation.startAnimation(100);
+        assertEquals(1, mListener.mStartCount);
+        assertTrue(mAnimation.isAnimating());
+
+        //the first frame sets the start time
+        mClock.step(FRAME_NANOS);
+        assertEquals(0, mTransition.mProgress, DELTA);
+        mClock.step(FRAME_NANOS);
+        assertEquals(0.1f, mTransition.mProgress, DELTA);
+        mClock.step(4 * FRAME_NANOS);
+        assertEquals(0.5f, mTransition.mProgress, DELTA);
+        assertEquals(0, mListener.mEndCount);
+    }
+
+    @Test
+    public void completesAndReleasesClock() {
+        mAnimation.startAnimation(100);
+        stepFrames(12);
+
+        assertEquals(1, mTransition.mProgress, 0);
+        assertEquals(1, mListener.mEndCount);
+        assertFalse(mAnimation.isAnimating());
+        assertTrue(mTransition.mStopCount > 0);
+        assertEquals(0, mClock.getPendingCallbackCount());
+
+        final int updates = mTransition.mUpdateCount;
+        stepFrames(5);
+        assertEquals(updates, mTransition.mUpdateCount);
+    }
+
+    @Test
+    public void reverseRunsFromEndToStart() {
+        mAnimation.setReverseAnimation(true);
+        mAnimation.startAnimation(100);
+        mClock.step(FRAME_NANOS);
+        assertEquals(1, mTransition.mProgress, DELTA);
+        mClock.step(2 * FRAME_NANOS);
+        assertEquals(0.8f, mTransition.mProgress, DELTA);
+        stepFrames(10);
+        assertEquals(0, mTransition.mProgress, 0);
+        assertEquals(1, mListener.mEndCount);
+    }
+
+    @Test
+    public void pauseHoldsProgressUntilResumed() {
+        mAnimation.startAnimation(100);
+        stepFrames(4);
+        final float paused = mTransition.mProgress;
+        assertEquals(0.3f, paused, DELTA);
+
+        mAnimation.pauseAnimation();
+        stepFrames(20);
+        assertEquals(paused, mTransition.mProgress, 0);
+        assertEquals(0, mListener.mEndCount);
+
+        mAnimation.resumeAnimation();
+        //the first frame after resuming continues from where it was paused
+        mClock.step(FRAME_NANOS);
+        assertEquals(paused, mTransition.mProgress, DELTA);
+        mClock.step(FRAME_NANOS);
+        assertEquals(0.4f, mTransition.mProgress, DELTA);
+        stepFrames(10);
+        assertEquals(1, mListener.mEndCount);
+    }
+
+    @Test
+    public void seekJumpsAndContinues() {
+        mAnimation.startAnimation(100);
+        stepFrames(2);
+        mAnimation.seekAnimation(0.75f);
+        assertEquals(0.75f, mTransition.mProgress, DELTA);
+        mClock.step(FRAME_NANOS);
+        mClock.step(FRAME_NANOS);
+        assertEquals(0.85f, mTransition.mProgress, DELTA);
+    }
+
+    @Test
+    public void repeatReversePlaysBackAndForth() {
+        mAnimation.setRepeatCount(1);
+        mAnimation.setRepeatMode(AbstractAnimation.REPEAT_REVERSE);
+        mAnimation.startAnimation(100);
+        mClock.step(FRAME_NANOS);
+        stepFrames(13);
+        //30ms into the second, reversed run
+        assertEquals(0.7f, mTransition.mProgress, DELTA);
+        assertEquals(0, mListener.mEndCount);
+        stepFrames(10);
+        assertEquals(0, mTransition.mProgress, 0);
+        assertEquals(1, mListener.mEndCount);
+    }
+
+    @Test
+    public void cancelStopsWithoutEnd() {
+        mAnimation.startAnimation(100);
+        stepFrames(3);
+        mAnimation.cancelAnimation();
+        assertEquals(1, mListener.mCancelCount);
+        assertEquals(0, mListener.mEndCount);
+        assertEquals(0, mClock.getPendingCallbackCount());
+    }
+
+    @Test
+    public void animationsOfClockShareOnePass() {
+        RecordingTransition otherTransition = new RecordingTransition();
+        TransitionAnimation other = new TransitionAnimation(otherTransition);
+        other.setStateControllerType(AbstractAnimation.CONTROLLER_FRAME);
+        other.setFrameClock(mClock);
+
+        mAnimation.startAnimation(100);
+        other.startAnimation(200);
+        //one callback each, however many frames have run
+        assertEquals(2, mClock.getPendingCallbackCount());
+        stepFrames(3);
+        assertEquals(2, mClock.getPendingCallbackCount());
+        assertEquals(0.2f, mTransition.mProgress, DELTA);
+        assertEquals(0.1f, otherTransition.mProgress, DELTA);
+
+        stepFrames(10);
+        assertEquals(1, mClock.getPendingCallbackCount());
+        stepFrames(10);
+        assertEquals(0, mClock.getPendingCallbackCount());
+        assertEquals(1, otherTransition.mProgress, 0);
+    }
+
+    @Test
+    public void animationCanceledDuringPassIsNotUpdated() {
+        final RecordingTransition otherTransition = new RecordingTransition();
+        final TransitionAnimation other = new TransitionAnimation(otherTransition);
+        other.setStateControllerType(AbstractAnimation.CONTROLLER_FRAME);
+        other.setFrameClock(mClock);
+        CountingListener otherListener = new CountingListener();
+        other.addAnimationListener(otherListener);
+        //runs first in each pass, cancels the other animation on its third frame
+        TransitionAnimation canceling = new TransitionAnimation(new RecordingTransition() {
+            @Override
+            public void updateProgress(float progress) {
+                super.updateProgress(progress);
+                if (mUpdateCount == 3) {
+                    other.cancelAnimation();
+                }
+            }
+        });
+        canceling.setStateControllerType(AbstractAnimation.CONTROLLER_FRAME);
+        canceling.setFrameClock(mClock);
+
+        canceling.startAnimation(100);
+        other.startAnimation(100);
+        stepFrames(2);
+        final int updates = otherTransition.mUpdateCount;
+        stepFrames(2);
+        assertEquals(updates, otherTransition.mUpdateCount);
+        assertEquals(1, otherListener.mCancelCount);
+        //only the canceling animation is left
+        assertEquals(1, mClock.getPendingCallbackCount());
+    }
+
+    private void stepFrames(int count) {
+        for (int i = 0; i < count; i++) {
+            mClock.step(FRAME_NANOS);
+        }
+    }
+}
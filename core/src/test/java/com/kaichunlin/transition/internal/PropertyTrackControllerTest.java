@@ -0,0 +1,39 @@
+package com.kaichunlin.transition.internal;
+
+import com.kaichunlin.transition.AbstractTransitionBuilder;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class PropertyTrackControllerTest {
+
+    @Test
+    public void fuseReplacesTrackOfSameProperty() {
+        PropertyTrackController controller = new PropertyTrackController()
+                .addFloatTrack(AbstractTransitionBuilder.ALPHA, 0f, 1f)
+                .addFloatTrack(AbstractTransitionBuilder.ROTATION, 0f, 90f);
+
+        assertEquals(1, controller.fuse(new PropertyTrackController()
+                .addFloatTrack(AbstractTransitionBuilder.ALPHA, 1f, 0f)
+                .addFloatTrack(AbstractTransitionBuilder.SCALE_X, 1f, 2f)));
+        assertEquals(3, controller.getTrackCount());
+    }
+
+    @Test
+    public void fusingCloneLeavesSourceUnchanged() {
+        PropertyTrackController source = new PropertyTrackController()
+                .addFloatTrack(AbstractTransitionBuilder.ALPHA, 0f, 1f)
+                .addFloatTrack(AbstractTransitionBuilder.ROTATION, 0f, 90f);
+        PropertyTrackController clone = source.clone();
+
+        //both add a third track, which would be written to the same slot if the track tables were shared
+        assertEquals(0, clone.fuse(new PropertyTrackController().addFloatTrack(AbstractTransitionBuilder.SCALE_X, 1f, 2f)));
+        assertEquals(0, source.fuse(new PropertyTrackController().addFloatTrack(AbstractTransitionBuilder.Y, 0f, 10f)));
+
+        assertEquals(1, clone.fuse(new PropertyTrackController().addFloatTrack(AbstractTransitionBuilder.SCALE_X, 2f, 3f)));
+        assertEquals(0, clone.fuse(new PropertyTrackController().addFloatTrack(AbstractTransitionBuilder.X, 0f, 10f)));
+        assertEquals(1, source.fuse(new PropertyTrackController().addFloatTrack(AbstractTransitionBuilder.Y, 10f, 0f)));
+        assertEquals(0, source.fuse(new PropertyTrackController().addFloatTrack(AbstractTransitionBuilder.SCALE_X, 1f, 2f)));
+    }
+}
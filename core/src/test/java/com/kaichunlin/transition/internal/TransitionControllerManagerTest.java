@@ -0,0 +1,79 @@
+package com.kaichunlin.transition.internal;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class TransitionControllerManagerTest {
+
+    /**
+     * Counts the calls made by the manager
+     */
+    static class RecordingController extends TransitionController<RecordingController> {
+        int mStartCount;
+        int mEndCount;
+        float mProgress = Float.NaN;
+
+        RecordingController() {
+            super(null);
+        }
+
+        @Override
+        public void start() {
+            super.start();
+            mStartCount++;
+        }
+
+        @Override
+        protected void updateProgress(float progress) {
+            mProgress = progress;
+        }
+
+        @Override
+        public void end() {
+            super.end();
+            mEndCount++;
+        }
+
+        @Override
+        protected RecordingController self() {
+            return this;
+        }
+    }
+
+    private TransitionControllerManager mManager;
+    private RecordingController mController;
+
+    @Before
+    public void setUp() {
+        mManager = new TransitionControllerManager("test");
+        mController = new RecordingController();
+        mManager.addTransitionController(mController);
+    }
+
+    @Test
+    public void snapStartsAndEndsController() {
+        mManager.snap(0.5f);
+        assertEquals(1, mController.mStartCount);
+        assertEquals(0.5f, mController.mProgress, 0);
+        assertEquals(1, mController.mEndCount);
+    }
+
+    @Test
+    public void snapWhileStartedKeepsControllerRunning() {
+        mManager.start();
+        mManager.updateProgress(0.3f);
+        mManager.snap(0.8f);
+        //restarting would capture the state at 0.3 as the start values
+        assertEquals(1, mController.mStartCount);
+        assertEquals(0.8f, mController.mProgress, 0);
+        assertEquals(0, mController.mEndCount);
+
+        mManager.end();
+        mManager.snap(0.2f);
+        assertEquals(2, mController.mStartCount);
+        assertEquals(0.2f, mController.mProgress, 0);
+        assertEquals(2, mController.mEndCount);
+    }
+}
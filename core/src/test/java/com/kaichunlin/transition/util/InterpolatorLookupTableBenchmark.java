@@ -0,0 +1,190 @@
+package com.kaichunlin.transition.util;
+
+import android.view.animation.Interpolator;
+
+/**
+ * Benchmarks the Interpolator switching of the sample app's DrawerGradientActivity: each switch creates a new
+ * Interpolator, a drawer drag then evaluates it for every transited property on every frame. The framework
+ * Interpolators are stubs on the JVM, so their formulas are reproduced.
+ * <p>
+ * Not part of the unit tests, run {@link #main(String[])} with the test classpath, e.g. from the IDE.
+ */
+public class InterpolatorLookupTableBenchmark {
+    //a one second drag at 60 fps
+    private static final int FRAMES = 60;
+    //e.g. translation, alpha and color
+    private static final int PROPERTIES = 3;
+    private static final int SWITCHES = 20_000;
+    private static final int ROUNDS = 5;
+
+    private interface Factory {
+        Interpolator create();
+    }
+
+    /**
+     * Same formula as AccelerateDecelerateInterpolator, the library default
+     */
+    private static class AccelerateDecelerate implements Interpolator {
+        @Override
+        public float getInterpolation(float input) {
+            return (float) (Math.cos((input + 1) * Math.PI) / 2.0f) + 0.5f;
+        }
+    }
+
+    /**
+     * Same formula as AccelerateInterpolator with the default factor
+     */
+    private static class Accelerate implements Interpolator {
+        @Override
+        public float getInterpolation(float input) {
+            return input * input;
+        }
+    }
+
+    /**
+     * Same formula as DecelerateInterpolator with the default factor
+     */
+    private static class Decelerate implements Interpolator {
+        @Override
+        public float getInterpolation(float input) {
+            return 1.0f - (1.0f - input) * (1.0f - input);
+        }
+    }
+
+    /**
+     * The cubic bezier (0.4, 0, 1, 1) of FastOutLinearInInterpolator, solved on every call like a path interpolator
+     */
+    private static class FastOutLinearIn implements Interpolator {
+        private static float bezier(float t, float p1, float p2) {
+            final float u = 1 - t;
+            return 3 * u * u * t * p1 + 3 * u * t * t * p2 + t * t * t;
+        }
+
+        @Override
+        public float getInterpolation(float input) {
+            float low = 0;
+            float high = 1;
+            float t = input;
+            for (int i = 0; i < 16; i++) {
+                t = (low + high) / 2;
+                if (bezier(t, 0.4f, 1f) < input) {
+                    low = t;
+                } else {
+                    high = t;
+                }
+            }
+            return bezier(t, 0f, 1f);
+        }
+    }
+
+    /**
+     * Same formula as AnticipateInterpolator with the default tension
+     */
+    private static class Anticipate implements Interpolator {
+        @Override
+        public float getInterpolation(float t) {
+            return t * t * (3.0f * t - 2.0f);
+        }
+    }
+
+    private static final String[] NAMES = {"default", "accelerate", "decelerate", "fastout", "anticipate"};
+    private static final Factory[] FACTORIES = {
+            new Factory() {
+                @Override
+                public Interpolator create() {
+                    return new AccelerateDecelerate();
+                }
+            },
+            new Factory() {
+                @Override
+                public Interpolator create() {
+                    return new Accelerate();
+                }
+            },
+            new Factory() {
+                @Override
+                public Interpolator create() {
+                    return new Decelerate();
+                }
+            },
+            new Factory() {
+                @Override
+                public Interpolator create() {
+                    return new FastOutLinearIn();
+                }
+            },
+            new Factory() {
+                @Override
+                public Interpolator create() {
+                    return new Anticipate();
+                }
+            }
+    };
+
+    //keeps the loops from being optimized away
+    private static float sSink;
+
+    public static void main(String[] args) {
+        //the framework and support counterparts are registered by the library
+        InterpolatorLookupTable.registerStatelessClass(AccelerateDecelerate.class);
+        InterpolatorLookupTable.registerStatelessClass(FastOutLinearIn.class);
+
+        System.out.println("ns per frame over " + FRAMES + " frame drags, " + PROPERTIES + " properties each");
+        System.out.println(String.format("%-12s %10s %10s", "", "source", "table"));
+        long source;
+        long table;
+        long allSource = 0;
+        long all = 0;
+        for (int i = 0; i < FACTORIES.length; i++) {
+            source = measure(FACTORIES[i], false);
+            table = measure(FACTORIES[i], true);
+            allSource += source;
+            all += table;
+            System.out.println(String.format("%-12s %10.1f %10.1f", NAMES[i], perFrame(source), perFrame(table)));
+        }
+        System.out.println(String.format("%-12s %10.1f %10.1f", "all", perFrame(allSource), perFrame(all)));
+    }
+
+    private static double perFrame(long nanos) {
+        return (double) nanos / ((long) SWITCHES * FRAMES);
+    }
+
+    /**
+     * @return the lowest time of several rounds, each round switches to a new Interpolator and drags
+     */
+    private static long measure(Factory factory, boolean lookupTable) {
+        long best = Long.MAX_VALUE;
+        long start;
+        Interpolator interpolator;
+        float sum = 0;
+        for (int round = 0; round <= ROUNDS; round++) {
+            InterpolatorLookupTable.clearCache();
+            start = System.nanoTime();
+            for (int i = 0; i < SWITCHES; i++) {
+                interpolator = factory.create();
+                if (lookupTable) {
+                    interpolator = InterpolatorLookupTable.of(interpolator, InterpolatorLookupTable.DEFAULT_RESOLUTION);
+                }
+                sum += drag(interpolator);
+            }
+            //the first round warms up the JIT
+            if (round > 0) {
+                best = Math.min(best, System.nanoTime() - start);
+            }
+        }
+        sSink += sum;
+        return best;
+    }
+
+    private static float drag(Interpolator interpolator) {
+        float sum = 0;
+        float progress;
+        for (int frame = 0; frame <= FRAMES; frame++) {
+            progress = (float) frame / FRAMES;
+            for (int p = 0; p < PROPERTIES; p++) {
+                sum += interpolator.getInterpolation(progress);
+            }
+        }
+        return sum;
+    }
+}
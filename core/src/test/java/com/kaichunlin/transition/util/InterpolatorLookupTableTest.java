@@ -0,0 +1,156 @@
+package com.kaichunlin.transition.util;
+
+import android.view.animation.Interpolator;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.lang.ref.WeakReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * The framework Interpolators are stubs in JVM tests, so their formulas are reproduced here.
+ */
+public class InterpolatorLookupTableTest {
+    private static final int SAMPLES = 10_000;
+
+    /**
+     * Same formula as AccelerateDecelerateInterpolator
+     */
+    private static class AccelerateDecelerate implements Interpolator {
+        @Override
+        public float getInterpolation(float input) {
+            return (float) (Math.cos((input + 1) * Math.PI) / 2.0f) + 0.5f;
+        }
+    }
+
+    /**
+     * Same formula as OvershootInterpolator with the default tension
+     */
+    private static class Overshoot implements Interpolator {
+        @Override
+        public float getInterpolation(float t) {
+            t -= 1.0f;
+            return t * t * (3 * t + 2) + 1.0f;
+        }
+    }
+
+    /**
+     * Same formula as BounceInterpolator, which has discontinuous slopes
+     */
+    private static class Bounce implements Interpolator {
+        private static float bounce(float t) {
+            return t * t * 8.0f;
+        }
+
+        @Override
+        public float getInterpolation(float t) {
+            t *= 1.1226f;
+            if (t < 0.3535f) return bounce(t);
+            else if (t < 0.7408f) return bounce(t - 0.54719f) + 0.7f;
+            else if (t < 0.9644f) return bounce(t - 0.8526f) + 0.9f;
+            else return bounce(t - 1.0435f) + 0.95f;
+        }
+    }
+
+    /**
+     * Not based on any framework Interpolator
+     */
+    private static class SmootherStep implements Interpolator {
+        @Override
+        public float getInterpolation(float t) {
+            return (float) (Math.pow(t, 3) * (t * (t * 6 - 15) + 10));
+        }
+    }
+
+    /**
+     * Registered as stateless, kept apart from SmootherStep so the other tests still see per-instance caching
+     */
+    private static class StatelessSmootherStep extends SmootherStep {
+    }
+
+    @After
+    public void tearDown() {
+        InterpolatorLookupTable.clearCache();
+    }
+
+    @Test
+    public void matchesAccelerateDecelerate() {
+        assertAccuracy(new AccelerateDecelerate(), InterpolatorLookupTable.DEFAULT_RESOLUTION, 1e-4f);
+    }
+
+    @Test
+    public void matchesOvershoot() {
+        assertAccuracy(new Overshoot(), InterpolatorLookupTable.DEFAULT_RESOLUTION, 1e-4f);
+    }
+
+    /**
+     * Linear interpolation cuts the corners where the bounces meet, the error there is bounded by the resolution
+     */
+    @Test
+    public void matchesBounce() {
+        assertAccuracy(new Bounce(), InterpolatorLookupTable.DEFAULT_RESOLUTION, 1e-2f);
+    }
+
+    @Test
+    public void matchesCustomInterpolator() {
+        assertAccuracy(new SmootherStep(), InterpolatorLookupTable.DEFAULT_RESOLUTION, 1e-4f);
+    }
+
+    @Test
+    public void endsAreExact() {
+        Interpolator source = new SmootherStep();
+        Interpolator table = InterpolatorLookupTable.of(source, 7);
+        assertEquals(source.getInterpolation(0), table.getInterpolation(0), 0);
+        assertEquals(source.getInterpolation(1), table.getInterpolation(1), 0);
+    }
+
+    @Test
+    public void inputOutsideRangeUsesSource() {
+        Interpolator source = new Overshoot();
+        Interpolator table = InterpolatorLookupTable.of(source, 16);
+        assertEquals(source.getInterpolation(-0.5f), table.getInterpolation(-0.5f), 0);
+        assertEquals(source.getInterpolation(1.5f), table.getInterpolation(1.5f), 0);
+    }
+
+    @Test
+    public void tableIsCachedPerInstance() {
+        Interpolator source = new SmootherStep();
+        assertSame(InterpolatorLookupTable.of(source, 64), InterpolatorLookupTable.of(source, 64));
+    }
+
+    @Test
+    public void tableIsSharedByStatelessClass() {
+        InterpolatorLookupTable.registerStatelessClass(StatelessSmootherStep.class);
+        assertSame(InterpolatorLookupTable.of(new StatelessSmootherStep(), 64),
+                InterpolatorLookupTable.of(new StatelessSmootherStep(), 64));
+    }
+
+    @Test
+    public void cachedInterpolatorCanBeCollected() throws InterruptedException {
+        WeakReference<Interpolator> sourceRef = cacheAndDrop();
+        for (int i = 0; i < 50 && sourceRef.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull("the cache keeps the Interpolator alive", sourceRef.get());
+    }
+
+    private static WeakReference<Interpolator> cacheAndDrop() {
+        Interpolator source = new SmootherStep();
+        InterpolatorLookupTable.of(source, 64);
+        return new WeakReference<>(source);
+    }
+
+    private static void assertAccuracy(Interpolator source, int resolution, float tolerance) {
+        Interpolator table = InterpolatorLookupTable.of(source, resolution);
+        float input;
+        for (int i = 0; i <= SAMPLES; i++) {
+            input = (float) i / SAMPLES;
+            assertEquals("input=" + input, source.getInterpolation(input), table.getInterpolation(input), tolerance);
+        }
+    }
+}
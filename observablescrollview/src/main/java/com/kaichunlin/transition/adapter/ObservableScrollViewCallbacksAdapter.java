@@ -100,7 +100,7 @@ public class ObservableScrollViewCallbacksAdapter extends AbstractAdapter implem
             }
         }
 
-        getTransitionManager().updateProgress(scrollY - mStartY);
+        deliverProgress(null, scrollY - mStartY);
 
         mLastScrollY = scrollY;
 
@@ -119,6 +119,7 @@ public class ObservableScrollViewCallbacksAdapter extends AbstractAdapter implem
 
     @Override
     public void onUpOrCancelMotionEvent(ScrollState scrollState) {
+        flushProgress();
         stopTransition();
 
         if (mCallback != null) {
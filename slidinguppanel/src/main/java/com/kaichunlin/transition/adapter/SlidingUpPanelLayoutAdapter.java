@@ -25,7 +25,7 @@ public class SlidingUpPanelLayoutAdapter extends MenuBaseAdapter implements Slid
     @Override
     public void onPanelSlide(View panel, float slideOffset) {
         startTransition();
-        getTransitionManager().updateProgress(slideOffset);
+        deliverProgress(panel, slideOffset);
 
         if (mListener != null) {
             mListener.onPanelSlide(panel, slideOffset);
@@ -35,6 +35,7 @@ public class SlidingUpPanelLayoutAdapter extends MenuBaseAdapter implements Slid
     @Override
     public void onPanelCollapsed(View panel) {
         getAdapterState().setState(AdapterState.CLOSE);
+        flushProgress();
         stopTransition();
 
         if (mListener != null) {
@@ -45,6 +46,7 @@ public class SlidingUpPanelLayoutAdapter extends MenuBaseAdapter implements Slid
     @Override
     public void onPanelExpanded(View panel) {
         getAdapterState().setState(AdapterState.OPEN);
+        flushProgress();
         stopTransition();
 
         if (mListener != null) {
@@ -54,6 +56,7 @@ public class SlidingUpPanelLayoutAdapter extends MenuBaseAdapter implements Slid
 
     @Override
     public void onPanelAnchored(View panel) {
+        flushProgress();
         stopTransition();
 
         if (mListener != null) {
@@ -63,6 +66,7 @@ public class SlidingUpPanelLayoutAdapter extends MenuBaseAdapter implements Slid
 
     @Override
     public void onPanelHidden(View panel) {
+        flushProgress();
         stopTransition();
 
         if (mListener != null) {